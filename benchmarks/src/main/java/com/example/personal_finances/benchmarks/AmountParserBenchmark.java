@@ -0,0 +1,69 @@
+package com.example.personal_finances.benchmarks;
+
+import com.example.personal_finances.service.AmountParser;
+import com.example.personal_finances.service.MonthlyAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Разбор денежных сумм из выписок.
+ *
+ * Замеряются проверка формата {@link AmountParser#isValid(String)}, полный разбор
+ * {@link AmountParser#parse(String)} и разбор с переводом в копейки, как при импорте.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmountParserBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private String[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = BenchmarkData.amountStrings(size);
+    }
+
+    @Benchmark
+    public void isValid(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(AmountParser.isValid(value));
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        for (String value : values) {
+            blackhole.consume(AmountParser.parse(value));
+        }
+    }
+
+    @Benchmark
+    public long parseToCents() {
+        long total = 0;
+        for (String value : values) {
+            BigDecimal amount = AmountParser.parse(value);
+            total += MonthlyAggregator.toCents(amount);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.personal_finances.benchmarks;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор тестовых данных для бенчмарков.
+ *
+ * Данные строятся детерминированно из фиксированного зерна, поэтому результаты
+ * запусков на разных коммитах сравнимы между собой.
+ */
+final class BenchmarkData {
+
+    /** Зерно генератора случайных чисел. */
+    static final long SEED = 20240301L;
+
+    /** Количество категорий пользователя. */
+    static final int CATEGORIES = 20;
+
+    /** Первый день диапазона дат транзакций. */
+    static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+
+    /** Количество дней в диапазоне дат транзакций (пять лет). */
+    static final int DAYS = 5 * 365;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Создает пользователя с идентификатором 1.
+     *
+     * @return пользователь
+     */
+    static User user() {
+        User user = new User("benchmark", "benchmark@example.com", "password1");
+        user.setId(1L);
+        return user;
+    }
+
+    /**
+     * Создает категории пользователя с идентификаторами от 1 до {@link #CATEGORIES}.
+     * Четные категории — доходы, нечетные — расходы.
+     *
+     * @param user владелец категорий
+     * @return список категорий
+     */
+    static List<Category> categories(User user) {
+        List<Category> categories = new ArrayList<>(CATEGORIES);
+        for (int i = 1; i <= CATEGORIES; i++) {
+            Category category = new Category("Категория " + i, i % 2 == 0 ? "INCOME" : "EXPENSE", user);
+            category.setId((long) i);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    /**
+     * Создает транзакции, равномерно распределенные по категориям и датам.
+     *
+     * @param categories категории транзакций
+     * @param size количество транзакций
+     * @return список транзакций
+     */
+    static List<Transaction> transactions(List<Category> categories, int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Transaction> transactions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Category category = categories.get(random.nextInt(categories.size()));
+            LocalDate date = FIRST_DATE.plusDays(random.nextInt(DAYS));
+            Transaction transaction = new Transaction(category, date, amount(random));
+            transaction.setId((long) i + 1);
+            transaction.setName("Транзакция " + i);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    /**
+     * Создает строковые суммы в форматах, встречающихся в выписках:
+     * с копейками и без, с запятой, пробелами и знаком.
+     *
+     * @param size количество сумм
+     * @return массив строк
+     */
+    static String[] amountStrings(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            String plain = amount(random).toPlainString();
+            values[i] = switch (i % 4) {
+                case 0 -> plain;
+                case 1 -> "-" + plain.replace('.', ',');
+                case 2 -> groupThousands(plain);
+                default -> plain.substring(0, plain.indexOf('.'));
+            };
+        }
+        return values;
+    }
+
+    /**
+     * Возвращает случайную сумму от 0.01 до 100000.00.
+     */
+    private static BigDecimal amount(SplittableRandom random) {
+        return BigDecimal.valueOf(random.nextLong(1, 10_000_000L), 2);
+    }
+
+    /**
+     * Разделяет разряды целой части пробелами: «12 345.67».
+     */
+    private static String groupThousands(String plain) {
+        int point = plain.indexOf('.');
+        StringBuilder builder = new StringBuilder(plain.substring(point));
+        for (int i = point - 1, digits = 0; i >= 0; i--, digits++) {
+            if (digits > 0 && digits % 3 == 0) {
+                builder.insert(0, ' ');
+            }
+            builder.insert(0, plain.charAt(i));
+        }
+        return builder.toString();
+    }
+}
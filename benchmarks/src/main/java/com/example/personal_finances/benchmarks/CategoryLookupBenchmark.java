@@ -0,0 +1,84 @@
+package com.example.personal_finances.benchmarks;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск категории транзакции.
+ *
+ * Для каждой транзакции находится ее категория среди категорий пользователя:
+ * перебором списка, как в {@code CategoryService.findReportCategory}, по названию
+ * через {@link Category#equals(Object)} и по идентификатору в {@link HashMap}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryLookupBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Category> categories;
+    private List<Transaction> transactions;
+    private Map<Long, Category> categoriesById;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        categories = BenchmarkData.categories(BenchmarkData.user());
+        transactions = BenchmarkData.transactions(categories, size);
+        categoriesById = categories.stream().collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    @Benchmark
+    public void streamById(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            Long id = transaction.getCategory().getId();
+            blackhole.consume(categories.stream()
+                    .filter(category -> category.getId().equals(id))
+                    .findFirst());
+        }
+    }
+
+    @Benchmark
+    public void scanByEquals(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            Category target = transaction.getCategory();
+            for (Category category : categories) {
+                if (category.equals(target)) {
+                    blackhole.consume(category);
+                    break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void hashMapById(Blackhole blackhole) {
+        for (Transaction transaction : transactions) {
+            blackhole.consume(categoriesById.get(transaction.getCategory().getId()));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.personal_finances.benchmarks;
+
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.service.MonthlyAggregator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.format.TextStyle;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Помесячная группировка транзакций категории для отчета.
+ *
+ * Сравнивает прежнюю группировку из {@code StatisticsController} (фильтрация по
+ * {@link Category#equals(Object)} и суммирование {@code double} в {@link HashMap}
+ * по названию месяца) с {@link MonthlyAggregator}, который суммирует копейки
+ * в массиве по индексу месяца.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MonthlyBucketingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Transaction> transactions;
+    private Category selectedCategory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Category> categories = BenchmarkData.categories(BenchmarkData.user());
+        transactions = BenchmarkData.transactions(categories, size);
+        selectedCategory = categories.get(0);
+    }
+
+    /**
+     * Прежняя группировка: январи разных лет попадают в одну корзину, суммы теряют точность.
+     */
+    @Benchmark
+    public Map<String, Double> legacyHashMap() {
+        List<Transaction> selected = transactions.stream()
+                .filter(t -> t.getCategory().equals(selectedCategory))
+                .collect(Collectors.toList());
+
+        Map<String, Double> monthlyTotals = new HashMap<>();
+        for (Transaction transaction : selected) {
+            String month = transaction.getDate().getMonth().getDisplayName(TextStyle.FULL, Locale.getDefault());
+            monthlyTotals.put(month, monthlyTotals.getOrDefault(month, 0.0) + transaction.getAmount().doubleValue());
+        }
+        return monthlyTotals;
+    }
+
+    /**
+     * Текущая группировка по году и месяцу в копейках.
+     */
+    @Benchmark
+    public List<MonthlyTotal> monthlyAggregator() {
+        Long categoryId = selectedCategory.getId();
+        MonthlyAggregator aggregator = new MonthlyAggregator();
+        for (Transaction transaction : transactions) {
+            if (categoryId.equals(transaction.getCategory().getId())) {
+                aggregator.add(transaction.getDate(), transaction.getAmount());
+            }
+        }
+        return aggregator.toList();
+    }
+}
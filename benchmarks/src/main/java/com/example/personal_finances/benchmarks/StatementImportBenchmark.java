@@ -0,0 +1,130 @@
+package com.example.personal_finances.benchmarks;
+
+import com.example.personal_finances.dto.ImportResult;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.StatementImportService;
+import com.example.personal_finances.service.TransactionService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Загрузка выписки CSV через {@link StatementImportService}.
+ *
+ * Выписка строится в памяти из транзакций {@link BenchmarkData} с заголовком, датами
+ * в формате дд.ММ.гггг, суммами с запятой и названиями в кавычках. Замеряются определение
+ * формата, разбор строк, поиск категорий и проверка строк; сохранение порций заменено
+ * подсчетом, чтобы результат не зависел от базы данных. Кроме числа загрузок в секунду
+ * выводится счетчик rows — число загруженных строк в секунду.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementImportBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private byte[] csv;
+    private User user;
+    private StatementImportService importService;
+
+    /**
+     * Счетчик загруженных строк; JMH выводит его как скорость в строках в секунду.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        user = BenchmarkData.user();
+        List<Category> categories = BenchmarkData.categories(user);
+        StringBuilder builder = new StringBuilder("Дата;Описание;Сумма;Категория\n");
+        for (Transaction transaction : BenchmarkData.transactions(categories, size)) {
+            builder.append(DATE_FORMAT.format(transaction.getDate())).append(';')
+                    .append('"').append(transaction.getName()).append('"').append(';')
+                    .append(transaction.getAmount().toPlainString().replace('.', ',')).append(';')
+                    .append(transaction.getCategory().getName()).append('\n');
+        }
+        csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+        importService = new StatementImportService(new CountingTransactionService(),
+                new MapCategoryService(categories));
+    }
+
+    @Benchmark
+    public ImportResult importCsv(Rows rows) throws IOException {
+        ImportResult result = importService.importStatement(new ByteArrayInputStream(csv), user, null);
+        rows.rows += result.imported();
+        return result;
+    }
+
+    /**
+     * Сервис транзакций, который только считает переданные порции.
+     */
+    private static final class CountingTransactionService extends TransactionService {
+
+        CountingTransactionService() {
+            super(null, null, null, null);
+        }
+
+        @Override
+        public ImportResult importTransactions(List<Transaction> transactions) {
+            return ImportResult.of(transactions.size(), 0, 0);
+        }
+    }
+
+    /**
+     * Сервис категорий, который ищет категории пользователя по названию в словаре.
+     */
+    private static final class MapCategoryService extends CategoryService {
+
+        private final Map<String, Category> categoriesByName = new HashMap<>();
+
+        MapCategoryService(List<Category> categories) {
+            for (Category category : categories) {
+                categoriesByName.put(category.getName(), category);
+            }
+        }
+
+        @Override
+        public Category findByNameAndUser(String name, User user) {
+            return categoriesByName.get(name);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.personal_finances.benchmarks;
+
+import com.example.personal_finances.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Transaction#equals(Object)} и {@link Transaction#hashCode()}.
+ *
+ * Хэш транзакции вычисляется по категории, дате и сумме, а хэш категории —
+ * по ее названию и типу, поэтому стоимость растет вместе с длиной названий.
+ * Замеряются хэширование списка, попарное сравнение соседних транзакций
+ * и построение множества, как при поиске дублей при импорте выписки.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionEqualityBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private List<Transaction> transactions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkData.transactions(BenchmarkData.categories(BenchmarkData.user()), size);
+        // Каждая десятая транзакция повторяет предыдущую, как повторно загруженная строка выписки.
+        for (int i = 10; i < size; i += 10) {
+            Transaction previous = transactions.get(i - 1);
+            Transaction duplicate = transactions.get(i);
+            duplicate.setCategory(previous.getCategory());
+            duplicate.setDate(previous.getDate());
+            duplicate.setAmount(new BigDecimal(previous.getAmount().toPlainString()));
+        }
+    }
+
+    @Benchmark
+    public int hashCodes() {
+        int hash = 0;
+        for (Transaction transaction : transactions) {
+            hash += transaction.hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public void equalsAdjacent(Blackhole blackhole) {
+        for (int i = 1; i < transactions.size(); i++) {
+            blackhole.consume(transactions.get(i).equals(transactions.get(i - 1)));
+        }
+    }
+
+    @Benchmark
+    public Set<Transaction> hashSet() {
+        return new HashSet<>(transactions);
+    }
+}
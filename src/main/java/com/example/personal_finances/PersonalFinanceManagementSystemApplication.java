@@ -17,12 +17,19 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
  *
  * Этот класс инициализирует Spring Boot и JavaFX, а также
  * управляет жизненным циклом приложения.
+ *
+ * Экраны JavaFX работают с тем же контекстом Spring, что и веб-приложение: версии данных
+ * пользователей, кэши категорий и отчетов хранятся в памяти компонентов контекста,
+ * и запись с экрана JavaFX должна сразу становиться видна веб-страницам (ETag, кэш фрагментов).
  */
 @SpringBootApplication
 public class PersonalFinanceManagementSystemApplication extends Application {
 
 	private static ConfigurableApplicationContext context;
 
+	/** true, если контекст создан в {@link #init()} и должен быть закрыт вместе с окном. */
+	private static boolean ownsContext;
+
 	/**
 	 * Главный метод приложения.
 	 *
@@ -34,11 +41,15 @@ public class PersonalFinanceManagementSystemApplication extends Application {
 	}
 
 	/**
-	 * Инициализация приложения, создание контекста Spring.
+	 * Инициализация приложения. Используется контекст Spring Boot, запущенный в {@link #main(String[])};
+	 * отдельный контекст создается, только если JavaFX запущен без него.
 	 */
 	@Override
 	public void init() {
-		context = new AnnotationConfigApplicationContext(AppConfig.class);
+		if (context == null) {
+			context = new AnnotationConfigApplicationContext(AppConfig.class);
+			ownsContext = true;
+		}
 	}
 
 	/**
@@ -66,13 +77,16 @@ public class PersonalFinanceManagementSystemApplication extends Application {
 	}
 
 	/**
-	 * Остановка приложения и закрытие контекста Spring.
+	 * Остановка приложения. Контекст Spring закрывается, только если он создан для JavaFX;
+	 * контекст Spring Boot продолжает обслуживать веб-приложение.
 	 *
 	 * @throws Exception если возникает ошибка при остановке приложения
 	 */
 	@Override
 	public void stop() throws Exception {
-		context.close();
+		if (ownsContext) {
+			context.close();
+		}
 		super.stop();
 	}
 }
\ No newline at end of file
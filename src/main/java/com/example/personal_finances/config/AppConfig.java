@@ -1,24 +1,28 @@
 package com.example.personal_finances.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import javax.sql.DataSource;
-
 /**
  * Конфигурационный класс приложения, который настраивает компоненты Spring.
  *
  * Этот класс включает в себя настройки для сканирования компонентов и репозиториев,
  * а также конфигурацию источника данных для подключения к базе данных.
+ * Файл application.properties подключается явно, чтобы настройки (в том числе миграций)
+ * применялись и в контексте JavaFX-клиента, который создается без Spring Boot.
  */
 @Configuration
 @ComponentScan(basePackages = "com.example.personal_finances")
 @EnableJpaRepositories(basePackages = "com.example.personal_finances.repository")
+@PropertySource(value = "classpath:application.properties", encoding = "UTF-8")
 public class AppConfig {
 
     /**
@@ -29,16 +33,16 @@ public class AppConfig {
     }
 
     /**
-     * Создаёт и настраивает источник данных для подключения к базе данных.
+     * Создаёт и настраивает пул соединений HikariCP для подключения к базе данных.
+     * Параметры подключения берутся из свойств spring.datasource.*,
+     * параметры пула и драйвера — из свойств spring.datasource.hikari.*.
      *
+     * @param properties параметры подключения к базе данных.
      * @return DataSource объект, который используется для подключения к базе данных.
      */
     @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setUrl("jdbc:postgresql://localhost:5432/PersonalFinancialManagementSystem");
-        dataSource.setUsername("postgres");
-        dataSource.setPassword("alina");
-        return dataSource;
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.personal_finances.config;
+
+import com.example.personal_finances.service.CategoryMonthlyTotalService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Команда полного пересчета помесячных итогов категорий.
+ *
+ * Выполняется при запуске приложения с параметром
+ * {@code --finances.rollup.rebuild=true} и заполняет таблицу итогов
+ * по уже существующим транзакциям.
+ */
+@Component
+@ConditionalOnProperty(name = "finances.rollup.rebuild", havingValue = "true")
+public class MonthlyTotalsRebuildRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(MonthlyTotalsRebuildRunner.class);
+
+    @Autowired
+    private CategoryMonthlyTotalService monthlyTotalService;
+
+    /**
+     * Пересчитывает помесячные итоги.
+     *
+     * @param args аргументы запуска приложения
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        int rows = monthlyTotalService.rebuild();
+        log.info("Помесячные итоги пересчитаны: {} строк.", rows);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.personal_finances.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -25,4 +26,14 @@ public class MvcConfig implements WebMvcConfigurer {
         registry.addViewController("/transaction").setViewName("transaction");
         registry.addViewController("/statistics").setViewName("statistics");
     }
+
+    /**
+     * Добавляет перехватчик, замеряющий время формирования страниц для заголовка Server-Timing.
+     *
+     * @param registry реестр перехватчиков.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ViewTimingInterceptor());
+    }
 }
\ No newline at end of file
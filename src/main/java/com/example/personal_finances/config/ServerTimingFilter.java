@@ -0,0 +1,106 @@
+package com.example.personal_finances.config;
+
+import com.example.personal_finances.service.RequestTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Фильтр, добавляющий к ответу заголовок Server-Timing с разбивкой времени обработки запроса.
+ *
+ * В заголовок входят время и количество SQL-запросов (db), время построения отчетов
+ * в Java без учета запросов (aggregation), время формирования страниц (view), остальное
+ * время обработки (app) и общее время (total). Чтобы заголовок можно было добавить после
+ * формирования страницы, тело ответа буферизуется. Поэтому потоковая выгрузка транзакций
+ * и асинхронные задания отчетов не обрабатываются.
+ *
+ * Запросы дольше {@code finances.server-timing.slow-request-millis} записываются в журнал
+ * одной строкой в формате ключ=значение.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    @Value("${finances.server-timing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${finances.server-timing.slow-request-millis:1000}")
+    private long slowRequestMillis;
+
+    /**
+     * Пропускает запросы, ответ на которые нельзя буферизовать.
+     *
+     * @param request HTTP-запрос
+     * @return true, если запрос не нужно обрабатывать
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled
+                || path.startsWith("/transactions/export")
+                || path.startsWith("/reports/jobs")
+                || path.startsWith("/actuator");
+    }
+
+    /**
+     * Замеряет обработку запроса и добавляет заголовок Server-Timing.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        RequestTimings timings = RequestTimings.start();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestTimings.clear();
+            long total = timings.getTotalNanos();
+            if (!wrapper.isCommitted()) {
+                wrapper.setHeader("Server-Timing", serverTiming(timings, total));
+            }
+            wrapper.copyBodyToResponse();
+            if (total / 1_000_000 >= slowRequestMillis) {
+                logSlowRequest(request, wrapper.getStatus(), timings, total);
+            }
+        }
+    }
+
+    /**
+     * Формирует значение заголовка Server-Timing.
+     */
+    private static String serverTiming(RequestTimings timings, long total) {
+        long app = Math.max(0, total - timings.getDbNanos() - timings.getAggregationNanos() - timings.getViewNanos());
+        return "db;dur=" + millis(timings.getDbNanos()) + ";desc=\"" + timings.getQueries() + " queries\""
+                + ", aggregation;dur=" + millis(timings.getAggregationNanos())
+                + ", view;dur=" + millis(timings.getViewNanos())
+                + ", app;dur=" + millis(app)
+                + ", total;dur=" + millis(total);
+    }
+
+    /**
+     * Записывает в журнал медленный запрос.
+     */
+    private static void logSlowRequest(HttpServletRequest request, int status, RequestTimings timings, long total) {
+        log.warn("slow_request method={} uri={} status={} total_ms={} db_ms={} queries={} aggregation_ms={} view_ms={}",
+                request.getMethod(), request.getRequestURI(), status, millis(total), millis(timings.getDbNanos()),
+                timings.getQueries(), millis(timings.getAggregationNanos()), millis(timings.getViewNanos()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+}
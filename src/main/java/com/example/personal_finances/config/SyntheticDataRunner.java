@@ -0,0 +1,83 @@
+package com.example.personal_finances.config;
+
+import com.example.personal_finances.service.SyntheticDataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Команда генерации синтетических данных для нагрузочного тестирования.
+ *
+ * Выполняется при запуске приложения с профилем {@code generate-data}, например
+ * {@code --spring.profiles.active=generate-data --finances.generate.transactions=20000000},
+ * и после загрузки завершает приложение. Параметры генерации описаны
+ * в {@code application-generate-data.properties}.
+ */
+@Component
+@Profile("generate-data")
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${finances.generate.seed:42}")
+    private long seed;
+
+    @Value("${finances.generate.users:1000}")
+    private int users;
+
+    @Value("${finances.generate.transactions:1000000}")
+    private long transactions;
+
+    @Value("${finances.generate.start-date:2022-01-01}")
+    private LocalDate startDate;
+
+    @Value("${finances.generate.end-date:2024-12-31}")
+    private LocalDate endDate;
+
+    @Value("${finances.generate.username-prefix:synthetic}")
+    private String usernamePrefix;
+
+    @Value("${finances.generate.password:password}")
+    private String password;
+
+    @Value("${finances.generate.exit:true}")
+    private boolean exit;
+
+    /**
+     * Генерирует данные и завершает приложение.
+     *
+     * @param args аргументы запуска приложения
+     * @throws SQLException если загрузка не удалась
+     */
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        log.info("Генерация данных: {} пользователей, {} транзакций с {} по {}, зерно {}.",
+                users, transactions, startDate, endDate, seed);
+        SyntheticDataGenerator.Result result = generator.generate(new SyntheticDataGenerator.Settings(
+                seed, users, transactions, startDate, endDate, usernamePrefix, password));
+        long rowsPerSecond = result.elapsedMillis() > 0 ? result.transactions() * 1000 / result.elapsedMillis() : 0;
+        log.info("Данные сгенерированы: {} пользователей, {} категорий, {} транзакций, {} строк помесячных итогов за {} мс ({} транзакций/с).",
+                result.users(), result.categories(), result.transactions(), result.monthlyTotals(),
+                result.elapsedMillis(), rowsPerSecond);
+
+        if (exit) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+}
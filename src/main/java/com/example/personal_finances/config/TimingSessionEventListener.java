@@ -0,0 +1,37 @@
+package com.example.personal_finances.config;
+
+import com.example.personal_finances.service.RequestTimings;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Слушатель событий сессии Hibernate, учитывающий время SQL-запросов в {@link RequestTimings}.
+ *
+ * Подключается свойством {@code hibernate.session.events.auto}; Hibernate создает
+ * отдельный экземпляр для каждой сессии. Учитывается выполнение запросов и пакетов
+ * на стороне JDBC; разбор результатов в сущности в это время не входит.
+ */
+public class TimingSessionEventListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTimings.recordQuery(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTimings.recordQuery(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.personal_finances.config;
+
+import com.example.personal_finances.service.RequestTimings;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * Перехватчик, учитывающий время формирования страницы в {@link RequestTimings}.
+ *
+ * Страница формируется между вызовами postHandle и afterCompletion.
+ */
+public class ViewTimingInterceptor implements HandlerInterceptor {
+
+    private static final String RENDER_START = ViewTimingInterceptor.class.getName() + ".renderStart";
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null) {
+            request.setAttribute(RENDER_START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(RENDER_START) instanceof Long renderStart) {
+            RequestTimings.recordView(System.nanoTime() - renderStart);
+        }
+    }
+}
@@ -12,6 +12,8 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -36,6 +38,8 @@ import java.io.IOException;
 @Controller
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private UserService userService;
 
@@ -127,7 +131,7 @@ public class AuthController {
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
         User currentUser  = userService.getCurrentUser ();
-        System.out.println("Вход пользователя: " + currentUser .getUsername() + ".");
+        log.info("Вход пользователя: {}.", currentUser.getUsername());
     }
 
     /**
@@ -177,7 +181,7 @@ public class AuthController {
             stage.setScene(new Scene(root));
             stage.show();
         } catch (IOException e) {
-            e.printStackTrace();
+            log.error("Не удалось загрузить форму {}.", fxmlPath, e);
         }
     }
 }
\ No newline at end of file
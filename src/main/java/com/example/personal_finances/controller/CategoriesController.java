@@ -1,10 +1,13 @@
 package com.example.personal_finances.controller;
 
 import com.example.personal_finances.PersonalFinanceManagementSystemApplication;
+import com.example.personal_finances.dto.ImportResult;
 import com.example.personal_finances.model.Category;
 import com.example.personal_finances.model.Transaction;
 import com.example.personal_finances.model.User;
 import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.DataVersionService;
+import com.example.personal_finances.service.StatementImportService;
 import com.example.personal_finances.service.TransactionService;
 import com.example.personal_finances.service.UserService;
 import javafx.collections.FXCollections;
@@ -14,22 +17,30 @@ import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.TextField;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Контроллер для управления категориями расходов и доходов.
@@ -51,6 +62,12 @@ public class CategoriesController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @FXML
     private TableView<Category> incomeCategoriesTable;
     @FXML
@@ -67,6 +84,8 @@ public class CategoriesController {
     private Button deleteButton;
     @FXML
     private Button statisticButton;
+    @FXML
+    private Button importButton;
 
     private User currentUser ;
 
@@ -86,11 +105,11 @@ public class CategoriesController {
         userService = (UserService) PersonalFinanceManagementSystemApplication.getContext().getBean(UserService.class);
         categoryService = (CategoryService) PersonalFinanceManagementSystemApplication.getContext().getBean(CategoryService.class);
         transactionService = (TransactionService) PersonalFinanceManagementSystemApplication.getContext().getBean(TransactionService.class);
+        statementImportService = (StatementImportService) PersonalFinanceManagementSystemApplication.getContext().getBean(StatementImportService.class);
 
         currentUser  = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         if (currentUser  != null) {
-            categoryService.initializeDefaultCategories(currentUser );
             initializeTable(incomeCategoriesTable, "INCOME");
             initializeTable(expenseCategoriesTable, "EXPENSE");
             categoryTypeComboBox.setItems(FXCollections.observableArrayList("Доходы", "Расходы"));
@@ -99,13 +118,23 @@ public class CategoriesController {
 
     /**
      * Отображает категории для текущего пользователя.
+     * Если данные пользователя не изменились с предыдущего запроса (ETag или Last-Modified),
+     * отвечает статусом 304 без формирования страницы.
      *
      * @param model модель для передачи данных на страницу.
-     * @return имя HTML-шаблона для страницы категорий.
+     * @param webRequest текущий запрос для проверки условных заголовков.
+     * @param response ответ, в который записывается заголовок Cache-Control.
+     * @return имя HTML-шаблона для страницы категорий или null, если страница не изменилась.
      */
     @GetMapping
-    public String showCategories(Model model) {
+    public String showCategories(Model model, WebRequest webRequest, HttpServletResponse response) {
         User currentUser  = (User ) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        DataVersionService.Version version = dataVersionService.getVersion(currentUser);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(dataVersionService.etag(currentUser, version), version.lastModified())) {
+            return null;
+        }
+
         List<Category> incomeCategories = categoryService.findByTypeAndUser ("INCOME", currentUser );
         List<Category> expenseCategories = categoryService.findByTypeAndUser ("EXPENSE", currentUser );
 
@@ -165,9 +194,6 @@ public class CategoriesController {
 
         ObservableList<Category> observableList = FXCollections.observableArrayList(
                 categoryService.findByTypeAndUser (type, currentUser )
-                        .stream()
-                        .filter(category -> !category.getName().equals("Все доходы") && !category.getName().equals("Все расходы"))
-                        .toList()
         );
         table.setItems(observableList);
 
@@ -212,12 +238,12 @@ public class CategoriesController {
         Category selectedIncomeCategory = incomeCategoriesTable.getSelectionModel().getSelectedItem();
         Category selectedExpenseCategory = expenseCategoriesTable.getSelectionModel().getSelectedItem();
 
-        if (selectedIncomeCategory != null && !categoryNameField.getText().isEmpty() && !selectedIncomeCategory.getName().equals("Все доходы")) {
+        if (selectedIncomeCategory != null && !categoryNameField.getText().isEmpty()) {
             selectedIncomeCategory.setName(categoryNameField.getText());
             categoryService.update(selectedIncomeCategory);
             refreshTables();
             categoryNameField.clear();
-        } else if (selectedExpenseCategory != null && !categoryNameField.getText().isEmpty() && !selectedExpenseCategory.getName().equals("Все расходы")) {
+        } else if (selectedExpenseCategory != null && !categoryNameField.getText().isEmpty()) {
             selectedExpenseCategory.setName(categoryNameField.getText());
             categoryService.update(selectedExpenseCategory);
             refreshTables();
@@ -234,10 +260,10 @@ public class CategoriesController {
         Category selectedIncomeCategory = incomeCategoriesTable.getSelectionModel().getSelectedItem();
         Category selectedExpenseCategory = expenseCategoriesTable.getSelectionModel().getSelectedItem();
 
-        if (selectedIncomeCategory != null && !selectedIncomeCategory.getName().equals("Все доходы")) {
+        if (selectedIncomeCategory != null) {
             categoryService.deleteById(selectedIncomeCategory.getId());
             refreshTables();
-        } else if (selectedExpenseCategory != null && !selectedExpenseCategory.getName().equals("Все расходы")) {
+        } else if (selectedExpenseCategory != null) {
             categoryService.deleteById(selectedExpenseCategory.getId());
             refreshTables();
         }
@@ -264,6 +290,46 @@ public class CategoriesController {
         }
     }
 
+    /**
+     * Загружает банковскую выписку в формате CSV или OFX.
+     * Выбранная в таблице категория используется для строк, категорию которых
+     * не удалось определить по названию.
+     *
+     * @param event событие, связанное с действием пользователя.
+     */
+    public void importStatement(ActionEvent event) {
+        Category defaultCategory = incomeCategoriesTable.getSelectionModel().getSelectedItem();
+        if (defaultCategory == null) {
+            defaultCategory = expenseCategoriesTable.getSelectionModel().getSelectedItem();
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Импорт выписки");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Выписки (CSV, OFX)", "*.csv", "*.txt", "*.ofx", "*.qfx"),
+                new FileChooser.ExtensionFilter("Все файлы", "*.*"));
+        File file = fileChooser.showOpenDialog(importButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            ImportResult result = statementImportService.importStatement(input, currentUser , defaultCategory);
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Импорт выписки");
+            alert.setHeaderText(null);
+            alert.setContentText("Загружено транзакций: " + result.imported()
+                    + "\nОтклонено строк: " + result.rejected());
+            alert.showAndWait();
+        } catch (IOException e) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Импорт выписки");
+            alert.setHeaderText(null);
+            alert.setContentText("Не удалось прочитать файл: " + e.getMessage());
+            alert.showAndWait();
+        }
+    }
+
     /**
      * Обновляет таблицы категорий.
      */
@@ -297,7 +363,6 @@ public class CategoriesController {
                     Transaction transactionData = controller.getTransactionData();
                     if (transactionData != null) {
                         saveTransaction(transactionData, finalSelectedCategory);
-                        saveTransaction(transactionData, categoryService.findByNameAndUser ((Objects.equals(finalSelectedCategory.getType(), "INCOME") ? "Все доходы" : "Все расходы"), currentUser ));
                     }
                     refreshTables();
                 });
@@ -1,36 +1,68 @@
 package com.example.personal_finances.controller;
 
 import com.example.personal_finances.PersonalFinanceManagementSystemApplication;
+import com.example.personal_finances.dto.CategoryPeriodTotal;
+import com.example.personal_finances.dto.PeriodTotal;
+import com.example.personal_finances.dto.ReportGranularity;
+import com.example.personal_finances.dto.ReportJobView;
 import com.example.personal_finances.model.Category;
-import com.example.personal_finances.model.Transaction;
 import com.example.personal_finances.model.User;
 import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.DataVersionService;
+import com.example.personal_finances.service.RangeTotalService;
+import com.example.personal_finances.service.RenderedFragmentCache;
+import com.example.personal_finances.service.ReportJob;
+import com.example.personal_finances.service.ReportJobService;
+import com.example.personal_finances.service.RequestTimings;
 import com.example.personal_finances.service.TransactionService;
 import com.example.personal_finances.service.UserService;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.StackedBarChart;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Контроллер для обработки статистики транзакций.
@@ -41,6 +73,14 @@ import java.util.stream.Collectors;
 @Controller
 public class StatisticsController {
 
+    /** Максимальное время ожидания результата задания в одном запросе, в секундах. */
+    private static final int MAX_JOB_WAIT_SECONDS = 30;
+
+    /** Цвета категорий на диаграмме с разбивкой по категориям. */
+    private static final String[] BREAKDOWN_COLORS = {
+            "#4CAF50", "#2196F3", "#FF9800", "#9C27B0", "#F44336",
+            "#00BCD4", "#795548", "#607D8B", "#CDDC39", "#E91E63"};
+
     @Autowired
     private TransactionService transactionService;
 
@@ -50,9 +90,39 @@ public class StatisticsController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RangeTotalService rangeTotalService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private RenderedFragmentCache renderedFragmentCache;
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
     @FXML
     private BarChart<String, Number> barChart;
 
+    @FXML
+    private StackedBarChart<String, Number> breakdownChart;
+
+    @FXML
+    private TabPane chartTabPane;
+
+    @FXML
+    private Tab reportTab;
+
+    @FXML
+    private Tab breakdownTab;
+
+    @FXML
+    private ComboBox<String> breakdownTypeComboBox;
+
     @FXML
     private DatePicker startDatePicker;
 
@@ -62,6 +132,12 @@ public class StatisticsController {
     @FXML
     private ComboBox<Category> categoryComboBox;
 
+    @FXML
+    private ComboBox<ReportGranularity> granularityComboBox;
+
+    @FXML
+    private Label rangeTotalLabel;
+
     private User currentUser ;
 
     /**
@@ -72,32 +148,54 @@ public class StatisticsController {
         transactionService = (TransactionService) PersonalFinanceManagementSystemApplication.getContext().getBean(TransactionService.class);
         categoryService = (CategoryService) PersonalFinanceManagementSystemApplication.getContext().getBean(CategoryService.class);
         userService = (UserService) PersonalFinanceManagementSystemApplication.getContext().getBean(UserService.class);
+        rangeTotalService = (RangeTotalService) PersonalFinanceManagementSystemApplication.getContext().getBean(RangeTotalService.class);
+        reportJobService = (ReportJobService) PersonalFinanceManagementSystemApplication.getContext().getBean(ReportJobService.class);
 
         currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         initializeCategoryComboBox();
+        granularityComboBox.getItems().addAll(ReportGranularity.values());
+        granularityComboBox.setValue(ReportGranularity.MONTH);
+        breakdownTypeComboBox.setItems(FXCollections.observableArrayList("Доходы", "Расходы"));
+        breakdownTypeComboBox.setValue("Расходы");
     }
 
     /**
      * Отображает страницу статистики и загружает категории для текущего пользователя.
+     * Если данные пользователя не изменились с предыдущего запроса (ETag или Last-Modified),
+     * отвечает статусом 304 без формирования страницы.
      *
      * @param model модель для передачи данных на страницу.
-     * @return имя HTML-шаблона для страницы статистики.
+     * @param webRequest текущий запрос для проверки условных заголовков.
+     * @param response ответ, в который записывается заголовок Cache-Control.
+     * @return имя HTML-шаблона для страницы статистики или null, если страница не изменилась.
      */
     @GetMapping("/statistics")
-    public String showStatisticsPage(Model model) {
+    public String showStatisticsPage(Model model, WebRequest webRequest, HttpServletResponse response) {
         User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        List<Category> categories = categoryService.findByUser (currentUser);
+        DataVersionService.Version version = dataVersionService.getVersion(currentUser);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(dataVersionService.etag(currentUser, version), version.lastModified())) {
+            return null;
+        }
+
+        List<Category> categories = categoryService.findReportCategories(currentUser);
         model.addAttribute("categories", categories);
+        model.addAttribute("granularities", ReportGranularity.values());
         return "statistics";
     }
 
     /**
      * Генерирует отчет на основе выбранных параметров.
+     * Сформированный фрагмент отчета кэшируется по версии данных пользователя и параметрам отчета.
+     * Отчет строится в потоке обработки запроса, чтобы страница формировалась без сценариев
+     * на стороне браузера; клиенты, которым нужно фоновое построение, используют
+     * {@link #submitReportJob(LocalDate, LocalDate, Long, ReportGranularity)}.
      *
      * @param startDate дата начала периода.
      * @param endDate дата окончания периода.
      * @param categoryId идентификатор выбранной категории.
+     * @param granularity шаг группировки отчета.
      * @param model модель для передачи данных на страницу.
      * @return имя HTML-шаблона для страницы статистики.
      */
@@ -105,9 +203,12 @@ public class StatisticsController {
     public String generateReport(@RequestParam(required = false) LocalDate startDate,
                                  @RequestParam(required = false) LocalDate endDate,
                                  @RequestParam Long categoryId,
+                                 @RequestParam(defaultValue = "MONTH") ReportGranularity granularity,
                                  Model model) {
         User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        Category selectedCategory = categoryService.findById(categoryId).orElse(null);
+        model.addAttribute("granularities", ReportGranularity.values());
+        model.addAttribute("granularity", granularity);
+        Category selectedCategory = categoryService.findReportCategory(categoryId, currentUser).orElse(null);
 
         if (selectedCategory == null) {
             model.addAttribute("error", "Выберите категорию.");
@@ -119,42 +220,186 @@ public class StatisticsController {
             return "statistics";
         }
 
-        List<Transaction> transactions;
-        if (startDate != null && endDate != null) {
-            transactions = transactionService.findByDateBetweenAndCategory_User(startDate, endDate, currentUser , Sort.by("date"));
-        } else {
-            transactions = transactionService.findByCategory_User(currentUser , Sort.by("date"));
+        String reportKey = "report:" + categoryId + ":" + startDate + ":" + endDate + ":" + granularity
+                + ":" + LocaleContextHolder.getLocale().toLanguageTag();
+        model.addAttribute("reportHtml", renderedFragmentCache.get(currentUser, reportKey,
+                () -> renderReport(selectedCategory.getId(), currentUser, startDate, endDate, granularity)));
+        model.addAttribute("categories", categoryService.findReportCategories(currentUser));
+
+        return "statistics";
+    }
+
+    /**
+     * Генерирует отчет с разбивкой по всем категориям выбранного типа.
+     * Сформированный фрагмент отчета кэшируется по версии данных пользователя и параметрам отчета.
+     *
+     * @param startDate дата начала периода.
+     * @param endDate дата окончания периода.
+     * @param type тип категорий ("INCOME" или "EXPENSE").
+     * @param granularity шаг группировки отчета.
+     * @param model модель для передачи данных на страницу.
+     * @return имя HTML-шаблона для страницы статистики.
+     */
+    @PostMapping("/generateBreakdown")
+    public String generateBreakdown(@RequestParam(required = false) LocalDate startDate,
+                                    @RequestParam(required = false) LocalDate endDate,
+                                    @RequestParam String type,
+                                    @RequestParam(defaultValue = "MONTH") ReportGranularity granularity,
+                                    Model model) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        model.addAttribute("categories", categoryService.findReportCategories(currentUser));
+        model.addAttribute("granularities", ReportGranularity.values());
+        model.addAttribute("granularity", granularity);
+        model.addAttribute("breakdownType", type);
+
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            model.addAttribute("error", "Дата начала должна быть меньше даты конца.");
+            return "statistics";
         }
 
-        transactions = transactions.stream()
-                .filter(t -> t.getCategory().equals(selectedCategory))
-                .collect(Collectors.toList());
+        String reportKey = "breakdown:" + type + ":" + startDate + ":" + endDate + ":" + granularity
+                + ":" + LocaleContextHolder.getLocale().toLanguageTag();
+        model.addAttribute("reportHtml", renderedFragmentCache.get(currentUser, reportKey,
+                () -> renderBreakdown(type, currentUser, startDate, endDate, granularity)));
+
+        return "statistics";
+    }
 
-        Map<String, Double> monthlyTotals = new HashMap<>();
-        for (Transaction transaction : transactions) {
-            String month = transaction.getDate().getMonth().getDisplayName(java.time.format.TextStyle.FULL, Locale.getDefault());
-            monthlyTotals.put(month, monthlyTotals.getOrDefault(month, 0.0) + transaction.getAmount().doubleValue());
+    /**
+     * Ставит в очередь фоновое построение отчета по категории.
+     * Результат запрашивается по адресу из заголовка Location.
+     *
+     * @param startDate дата начала периода.
+     * @param endDate дата окончания периода.
+     * @param categoryId идентификатор выбранной категории.
+     * @param granularity шаг группировки отчета.
+     * @return состояние задания со статусом 202.
+     */
+    @PostMapping("/reports/jobs")
+    @ResponseBody
+    public ResponseEntity<ReportJobView> submitReportJob(@RequestParam(required = false) LocalDate startDate,
+                                                         @RequestParam(required = false) LocalDate endDate,
+                                                         @RequestParam Long categoryId,
+                                                         @RequestParam(defaultValue = "MONTH") ReportGranularity granularity) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (categoryService.findReportCategory(categoryId, currentUser).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Категория не найдена: " + categoryId);
+        }
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Дата начала должна быть меньше даты конца.");
         }
 
-        double maxValue = monthlyTotals.values().stream().max(Double::compare).orElse(0.0);
+        ReportJob job;
+        try {
+            job = reportJobService.submit(categoryId, currentUser, startDate, endDate, granularity);
+        } catch (RejectedExecutionException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Очередь отчетов заполнена, повторите запрос позже.");
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/reports/jobs/" + job.getId()))
+                .body(job.toView());
+    }
+
+    /**
+     * Возвращает состояние задания на построение отчета. Если задан параметр waitSeconds,
+     * ответ откладывается до завершения задания, но не дольше указанного времени;
+     * поток обработки запросов на время ожидания освобождается.
+     *
+     * @param id идентификатор задания.
+     * @param waitSeconds максимальное время ожидания результата в секундах (не более 30).
+     * @return состояние задания с результатом, если он готов.
+     */
+    @GetMapping("/reports/jobs/{id}")
+    @ResponseBody
+    public CompletableFuture<ReportJobView> getReportJob(@PathVariable String id,
+                                                         @RequestParam(defaultValue = "0") int waitSeconds) {
+        User currentUser = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        ReportJob job = reportJobService.findJob(id, currentUser)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Задание не найдено: " + id));
 
-        model.addAttribute("monthlyTotals", monthlyTotals);
-        model.addAttribute("maxValue", maxValue);
-        model.addAttribute("categories", categoryService.findByUser (currentUser));
+        int wait = Math.max(0, Math.min(waitSeconds, MAX_JOB_WAIT_SECONDS));
+        if (wait == 0 || job.future().isDone()) {
+            return CompletableFuture.completedFuture(job.toView());
+        }
+        CompletableFuture<Void> finished = job.future().handle((result, error) -> null);
+        return finished.completeOnTimeout(null, wait, TimeUnit.SECONDS).thenApply(ignored -> job.toView());
+    }
 
-        return "statistics";
+    /**
+     * Формирует фрагмент страницы с отчетом по категории.
+     */
+    private String renderReport(Long categoryId, User user, LocalDate startDate, LocalDate endDate,
+                                ReportGranularity granularity) {
+        List<PeriodTotal> report = transactionService.getReport(categoryId, user, startDate, endDate, granularity);
+
+        Map<String, BigDecimal> periodTotals = new LinkedHashMap<>();
+        BigDecimal maxValue = BigDecimal.ZERO;
+        for (PeriodTotal total : report) {
+            periodTotals.put(granularity.formatPeriod(total.periodStart()), total.total());
+            maxValue = maxValue.max(total.total());
+        }
+        if (maxValue.signum() == 0) {
+            maxValue = BigDecimal.ONE;
+        }
+
+        Context context = new Context(LocaleContextHolder.getLocale());
+        context.setVariable("periodTotals", periodTotals);
+        context.setVariable("maxValue", maxValue);
+        context.setVariable("rangeTotal", rangeTotalService.getRangeTotal(categoryId, user, startDate, endDate));
+        return processFragment("report", context);
+    }
+
+    /**
+     * Формирует фрагмент страницы с отчетом по всем категориям типа.
+     */
+    private String renderBreakdown(String type, User user, LocalDate startDate, LocalDate endDate,
+                                   ReportGranularity granularity) {
+        List<CategoryPeriodTotal> report = transactionService.getBreakdownReport(type, user, startDate, endDate, granularity);
+        Map<LocalDate, Map<String, BigDecimal>> columns = toBreakdownColumns(report);
+
+        Map<String, Map<String, BigDecimal>> breakdownTotals = new LinkedHashMap<>();
+        BigDecimal maxValue = BigDecimal.ZERO;
+        for (Map.Entry<LocalDate, Map<String, BigDecimal>> column : columns.entrySet()) {
+            breakdownTotals.put(granularity.formatPeriod(column.getKey()), column.getValue());
+            maxValue = maxValue.max(column.getValue().values().stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+        if (maxValue.signum() == 0) {
+            maxValue = BigDecimal.ONE;
+        }
+
+        Map<String, String> breakdownColors = new LinkedHashMap<>();
+        for (CategoryPeriodTotal total : report) {
+            breakdownColors.putIfAbsent(total.categoryName(), BREAKDOWN_COLORS[breakdownColors.size() % BREAKDOWN_COLORS.length]);
+        }
+
+        Context context = new Context(LocaleContextHolder.getLocale());
+        context.setVariable("breakdownTotals", breakdownTotals);
+        context.setVariable("breakdownColors", breakdownColors);
+        context.setVariable("breakdownMaxValue", maxValue);
+        return processFragment("breakdown", context);
+    }
+
+    /**
+     * Формирует фрагмент шаблона statistics-report и учитывает время формирования в {@link RequestTimings}.
+     */
+    private String processFragment(String fragment, Context context) {
+        long startedAt = System.nanoTime();
+        String html = templateEngine.process("statistics-report", Set.of(fragment), context);
+        RequestTimings.recordView(System.nanoTime() - startedAt);
+        return html;
     }
 
     /**
      * Инициализирует выпадающий список категорий для текущего пользователя.
      */
     private void initializeCategoryComboBox() {
-        List<Category> categories = categoryService.findByUser (currentUser);
+        List<Category> categories = categoryService.findReportCategories(currentUser);
         categoryComboBox.getItems().addAll(categories);
     }
 
     /**
      * Генерирует отчет по транзакциям на основе выбранных параметров.
+     * Отчет строится в фоновом потоке, а график обновляется в потоке JavaFX по готовности.
      *
      * @param event событие, связанное с действием пользователя.
      */
@@ -162,6 +407,7 @@ public class StatisticsController {
         LocalDate startDate = startDatePicker.getValue();
         LocalDate endDate = endDatePicker.getValue();
         Category selectedCategory = categoryComboBox.getValue();
+        ReportGranularity granularity = granularityComboBox.getValue();
 
         if (selectedCategory == null) {
             showAlert("Ошибка", "Выберите категорию.");
@@ -173,36 +419,90 @@ public class StatisticsController {
             return;
         }
 
-        List<Transaction> transactions;
-        if (startDate != null && endDate != null) {
-            transactions = transactionService.findByDateBetweenAndCategory_User(startDate, endDate, currentUser , Sort.by("date"));
-        } else {
-            transactions = transactionService.findByCategory_User(currentUser , Sort.by("date"));
+        ReportJob job;
+        try {
+            job = reportJobService.submit(selectedCategory.getId(), currentUser , startDate, endDate, granularity);
+        } catch (RejectedExecutionException e) {
+            showAlert("Ошибка", "Очередь отчетов заполнена, повторите попытку позже.");
+            return;
         }
 
-        transactions = transactions.stream()
-                .filter(t -> t.getCategory().equals(selectedCategory))
-                .collect(Collectors.toList());
-
-        updateBarChartWithTransactions(transactions);
+        rangeTotalLabel.setText("Отчет формируется...");
+        job.future().whenComplete((result, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                rangeTotalLabel.setText("");
+                showAlert("Ошибка", "Не удалось сформировать отчет.");
+                return;
+            }
+            updateBarChart(result.totals(), granularity);
+            chartTabPane.getSelectionModel().select(reportTab);
+            rangeTotalLabel.setText("Итого за период: " + result.rangeTotal().toPlainString());
+        }));
     }
 
     /**
-     * Обновляет график на основе переданных транзакций.
+     * Генерирует отчет с разбивкой по всем категориям выбранного типа.
      *
-     * @param transactions список транзакций для обновления графика.
+     * @param event событие, связанное с действием пользователя.
      */
-    private void updateBarChartWithTransactions(List<Transaction> transactions) {
-        Map<String, Double> monthlyTotals = new HashMap<>();
+    public void generateBreakdown(ActionEvent event) {
+        LocalDate startDate = startDatePicker.getValue();
+        LocalDate endDate = endDatePicker.getValue();
+        ReportGranularity granularity = granularityComboBox.getValue();
+        String type = "Доходы".equals(breakdownTypeComboBox.getValue()) ? "INCOME" : "EXPENSE";
+
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            showAlert("Ошибка", "Дата начала должна быть меньше даты конца.");
+            return;
+        }
 
-        for (Transaction transaction : transactions) {
-            String month = transaction.getDate().getMonth().getDisplayName(java.time.format.TextStyle.FULL, Locale.getDefault());
-            monthlyTotals.put(month, monthlyTotals.getOrDefault(month, 0.0) + transaction.getAmount().doubleValue());
+        List<CategoryPeriodTotal> report = transactionService.getBreakdownReport(type, currentUser, startDate, endDate, granularity);
+        List<String> periods = new ArrayList<>();
+        for (LocalDate period : toBreakdownColumns(report).keySet()) {
+            periods.add(granularity.formatPeriod(period));
         }
 
+        Map<Long, XYChart.Series<String, Number>> series = new LinkedHashMap<>();
+        for (CategoryPeriodTotal total : report) {
+            series.computeIfAbsent(total.categoryId(), id -> {
+                XYChart.Series<String, Number> categorySeries = new XYChart.Series<>();
+                categorySeries.setName(total.categoryName());
+                return categorySeries;
+            }).getData().add(new XYChart.Data<>(granularity.formatPeriod(total.periodStart()), total.total()));
+        }
+
+        breakdownChart.getData().clear();
+        ((CategoryAxis) breakdownChart.getXAxis()).setCategories(FXCollections.observableArrayList(periods));
+        breakdownChart.getData().addAll(series.values());
+        chartTabPane.getSelectionModel().select(breakdownTab);
+    }
+
+    /**
+     * Группирует суммы категорий по периодам: для каждого периода по возрастанию —
+     * суммы категорий в порядке отчета.
+     *
+     * @param report суммы категорий по периодам.
+     * @return суммы категорий, сгруппированные по началу периода.
+     */
+    private Map<LocalDate, Map<String, BigDecimal>> toBreakdownColumns(List<CategoryPeriodTotal> report) {
+        Map<LocalDate, Map<String, BigDecimal>> columns = new TreeMap<>();
+        for (CategoryPeriodTotal total : report) {
+            columns.computeIfAbsent(total.periodStart(), period -> new LinkedHashMap<>())
+                    .merge(total.categoryName(), total.total(), BigDecimal::add);
+        }
+        return columns;
+    }
+
+    /**
+     * Обновляет график на основе сумм по периодам.
+     *
+     * @param report суммы по периодам для отображения на графике.
+     * @param granularity шаг группировки, определяющий подписи периодов.
+     */
+    private void updateBarChart(List<PeriodTotal> report, ReportGranularity granularity) {
         XYChart.Series<String, Number> series = new XYChart.Series<>();
-        for (Map.Entry<String, Double> entry : monthlyTotals.entrySet()) {
-            series.getData().add(new XYChart.Data<>(entry.getKey(), entry.getValue()));
+        for (PeriodTotal total : report) {
+            series.getData().add(new XYChart.Data<>(granularity.formatPeriod(total.periodStart()), total.total()));
         }
 
         barChart.getData().clear();
@@ -1,26 +1,50 @@
 package com.example.personal_finances.controller;
 
 import com.example.personal_finances.PersonalFinanceManagementSystemApplication;
+import com.example.personal_finances.dto.ImportResult;
+import com.example.personal_finances.dto.TransactionExportRow;
+import com.example.personal_finances.dto.TransactionImportRow;
+import com.example.personal_finances.dto.TransactionPage;
 import com.example.personal_finances.model.Category;
 import com.example.personal_finances.model.Transaction;
 import com.example.personal_finances.model.User;
+import com.example.personal_finances.service.AmountParser;
 import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.StatementImportService;
 import com.example.personal_finances.service.TransactionService;
 import com.example.personal_finances.service.UserService;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Objects;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Контроллер для обработки транзакций.
@@ -41,6 +65,12 @@ public class TransactionsController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private StatementImportService statementImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @FXML
     private TextField transactionNameField;
 
@@ -76,6 +106,124 @@ public class TransactionsController {
         });
     }
 
+    /**
+     * Возвращает страницу транзакций текущего пользователя.
+     * Для перехода к следующей странице передаются значения nextBeforeDate и nextBeforeId
+     * из предыдущего ответа в параметрах beforeDate и beforeId.
+     *
+     * @param categoryId идентификатор категории для фильтрации (необязательный).
+     * @param startDate начальная дата диапазона (необязательная).
+     * @param endDate конечная дата диапазона (необязательная).
+     * @param beforeDate дата последней транзакции предыдущей страницы.
+     * @param beforeId идентификатор последней транзакции предыдущей страницы.
+     * @param size размер страницы.
+     * @return страница транзакций в формате JSON.
+     */
+    @GetMapping
+    @ResponseBody
+    public TransactionPage listTransactions(@RequestParam(required = false) Long categoryId,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate beforeDate,
+                                            @RequestParam(required = false) Long beforeId,
+                                            @RequestParam(defaultValue = "50") int size) {
+        User currentUser  = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return transactionService.findPage(currentUser , categoryId, startDate, endDate, beforeDate, beforeId, size);
+    }
+
+    /**
+     * Выгружает транзакции текущего пользователя в формате CSV или JSON.
+     * Строки пишутся в ответ по мере чтения из базы данных, не накапливаясь в памяти.
+     * CSV совместим с загрузкой выписок через /transactions/import.
+     *
+     * @param format формат выгрузки: csv или json.
+     * @param startDate начальная дата диапазона (необязательная).
+     * @param endDate конечная дата диапазона (необязательная).
+     * @param response HTTP-ответ, в который пишется выгрузка.
+     * @throws IOException если не удалось записать ответ.
+     */
+    @GetMapping("/export")
+    public void exportTransactions(@RequestParam(defaultValue = "csv") String format,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+                                   HttpServletResponse response) throws IOException {
+        User currentUser  = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        boolean json = "json".equalsIgnoreCase(format);
+        if (!json && !"csv".equalsIgnoreCase(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Неизвестный формат выгрузки: " + format);
+        }
+
+        response.setContentType(json ? "application/json" : "text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions." + (json ? "json" : "csv") + "\"");
+
+        try {
+            if (json) {
+                try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+                    generator.writeStartArray();
+                    transactionService.exportTransactions(currentUser , startDate, endDate, row -> {
+                        try {
+                            generator.writeObject(row);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                    generator.writeEndArray();
+                }
+            } else {
+                try (Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8)) {
+                    writer.write("Дата;Название;Сумма;Категория;Тип\n");
+                    transactionService.exportTransactions(currentUser , startDate, endDate, row -> {
+                        try {
+                            writeCsvRow(writer, row);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Записывает строку выгрузки в формате CSV с разделителем ';'.
+     *
+     * @param writer поток записи.
+     * @param row строка выгрузки.
+     * @throws IOException если не удалось записать строку.
+     */
+    private void writeCsvRow(Writer writer, TransactionExportRow row) throws IOException {
+        writer.write(row.date().toString());
+        writer.write(';');
+        writer.write(quoteCsv(row.name()));
+        writer.write(';');
+        writer.write(row.amount() == null ? "" : row.amount().toPlainString());
+        writer.write(';');
+        writer.write(quoteCsv(row.categoryName()));
+        writer.write(';');
+        writer.write(row.categoryType());
+        writer.write('\n');
+    }
+
+    /**
+     * Заключает значение в кавычки, если оно содержит разделитель, кавычки или перевод строки.
+     *
+     * @param value значение поля.
+     * @return значение, пригодное для записи в CSV.
+     */
+    private String quoteCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(';') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
     /**
      * Отображает форму для создания новой транзакции.
      *
@@ -104,18 +252,68 @@ public class TransactionsController {
         if (category != null) {
             transaction.setCategory(category);
             transactionService.save(transaction);
+        }
+        return "redirect:/categories";
+    }
 
-            Transaction newTransaction = new Transaction();
-            newTransaction.setName(transaction.getName());
-            newTransaction.setAmount(transaction.getAmount());
-            newTransaction.setDate(transaction.getDate());
-            newTransaction.setCategory(categoryService.findByNameAndUser ((Objects.equals(
-                            category.getType(), "INCOME") ? "Все доходы" : "Все расходы"),
-                    (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal()));
+    /**
+     * Пакетно загружает транзакции текущего пользователя.
+     * Строки с чужими или несуществующими категориями, без даты, с отрицательной суммой или суммой,
+     * не помещающейся в NUMERIC(10, 2) без округления, а также с пустым или слишком длинным названием
+     * отклоняются до сохранения и учитываются в {@link ImportResult#rejected()}, поэтому одна
+     * некорректная строка не прерывает загрузку остальных.
+     *
+     * @param rows строки загрузки в формате JSON.
+     * @return результат загрузки с количеством строк и скоростью в строках в секунду.
+     */
+    @PostMapping("/bulk")
+    @ResponseBody
+    public ImportResult importTransactions(@RequestBody List<TransactionImportRow> rows) {
+        User currentUser  = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Map<Long, Category> categories = new HashMap<>();
+        List<Transaction> transactions = new ArrayList<>(rows.size());
+        int rejected = 0;
 
-            transactionService.save(newTransaction);
+        for (TransactionImportRow row : rows) {
+            Category category = row.categoryId() == null ? null : categories.computeIfAbsent(row.categoryId(),
+                    id -> categoryService.findById(id)
+                            .filter(c -> c.getUser().getId().equals(currentUser .getId()))
+                            .orElse(null));
+            if (category == null || row.date() == null || row.amount() == null || row.amount().signum() < 0
+                    || !AmountParser.fitsStoredPrecision(row.amount())
+                    || row.name() == null || row.name().isBlank() || row.name().length() > Transaction.NAME_MAX_LENGTH) {
+                rejected++;
+                continue;
+            }
+            Transaction transaction = new Transaction(category, row.date(), row.amount());
+            transaction.setName(row.name());
+            transactions.add(transaction);
+        }
+
+        ImportResult result = transactionService.importTransactions(transactions);
+        return new ImportResult(result.imported(), rejected, result.elapsedMillis(), result.rowsPerSecond());
+    }
+
+    /**
+     * Загружает банковскую выписку в формате CSV или OFX.
+     * Файл обрабатывается потоково и сохраняется порциями.
+     *
+     * @param file файл выписки.
+     * @param categoryId идентификатор категории по умолчанию (необязательный).
+     * @return результат загрузки с количеством строк и скоростью в строках в секунду.
+     * @throws IOException если файл не удалось прочитать.
+     */
+    @PostMapping("/import")
+    @ResponseBody
+    public ImportResult importStatement(@RequestParam("file") MultipartFile file,
+                                        @RequestParam(required = false) Long categoryId) throws IOException {
+        User currentUser  = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Category defaultCategory = categoryId == null ? null : categoryService.findById(categoryId)
+                .filter(c -> c.getUser().getId().equals(currentUser .getId()))
+                .orElse(null);
+        try (InputStream input = file.getInputStream()) {
+            return statementImportService.importStatement(input, currentUser , defaultCategory);
         }
-        return "redirect:/categories";
     }
 
     /**
@@ -149,7 +347,7 @@ public class TransactionsController {
      * @return true, если значение является допустимым положительным числом, иначе false.
      */
     private boolean isValidAmount(String value) {
-        return value.matches("^(\\d{0,15}(\\.\\d{0,2})?)?$");
+        return AmountParser.isValid(value);
     }
 
     /**
@@ -0,0 +1,15 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Сумма и количество транзакций категории за один день.
+ *
+ * @param categoryId идентификатор категории
+ * @param date день
+ * @param total сумма транзакций за день
+ * @param count количество транзакций за день
+ */
+public record CategoryDailyTotal(Long categoryId, LocalDate date, BigDecimal total, Long count) {
+}
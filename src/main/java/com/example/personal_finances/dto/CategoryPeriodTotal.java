@@ -0,0 +1,28 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Итоговая сумма транзакций одной категории за период отчета.
+ *
+ * @param categoryId идентификатор категории
+ * @param categoryName название категории
+ * @param periodStart первый день периода (см. {@link ReportGranularity#periodStart(LocalDate)})
+ * @param total сумма транзакций категории за период
+ */
+public record CategoryPeriodTotal(Long categoryId, String categoryName, LocalDate periodStart, BigDecimal total) {
+
+    /**
+     * Создает итог за месяц. Используется в запросах с группировкой по году и месяцу.
+     *
+     * @param categoryId идентификатор категории
+     * @param categoryName название категории
+     * @param year год
+     * @param month номер месяца (1-12)
+     * @param total сумма транзакций категории за месяц
+     */
+    public CategoryPeriodTotal(Long categoryId, String categoryName, Integer year, Integer month, BigDecimal total) {
+        this(categoryId, categoryName, LocalDate.of(year, month, 1), total);
+    }
+}
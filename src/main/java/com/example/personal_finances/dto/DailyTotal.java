@@ -0,0 +1,13 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Сумма транзакций за один день.
+ *
+ * @param date день
+ * @param total сумма транзакций за день
+ */
+public record DailyTotal(LocalDate date, BigDecimal total) {
+}
@@ -0,0 +1,25 @@
+package com.example.personal_finances.dto;
+
+/**
+ * Результат пакетной загрузки транзакций.
+ *
+ * @param imported количество сохраненных транзакций
+ * @param rejected количество отклоненных строк
+ * @param elapsedMillis длительность загрузки в миллисекундах
+ * @param rowsPerSecond скорость загрузки в строках в секунду
+ */
+public record ImportResult(int imported, int rejected, long elapsedMillis, long rowsPerSecond) {
+
+    /**
+     * Создает результат загрузки, вычисляя ее скорость.
+     *
+     * @param imported количество сохраненных транзакций
+     * @param rejected количество отклоненных строк
+     * @param elapsedNanos длительность загрузки в наносекундах
+     * @return результат загрузки
+     */
+    public static ImportResult of(int imported, int rejected, long elapsedNanos) {
+        long rowsPerSecond = elapsedNanos > 0 ? imported * 1_000_000_000L / elapsedNanos : imported;
+        return new ImportResult(imported, rejected, elapsedNanos / 1_000_000, rowsPerSecond);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Итоговая сумма транзакций за один месяц.
+ *
+ * @param year год
+ * @param month номер месяца (1-12)
+ * @param total сумма транзакций за месяц
+ */
+public record MonthlyTotal(Integer year, Integer month, BigDecimal total) {
+
+    /**
+     * Возвращает месяц, к которому относится итог.
+     *
+     * @return год и месяц
+     */
+    public YearMonth yearMonth() {
+        return YearMonth.of(year, month);
+    }
+}
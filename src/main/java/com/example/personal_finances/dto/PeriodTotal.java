@@ -0,0 +1,13 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Итоговая сумма транзакций за период отчета.
+ *
+ * @param periodStart первый день периода (см. {@link ReportGranularity#periodStart(LocalDate)})
+ * @param total сумма транзакций за период
+ */
+public record PeriodTotal(LocalDate periodStart, BigDecimal total) {
+}
@@ -0,0 +1,82 @@
+package com.example.personal_finances.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Шаг группировки отчета по периодам.
+ */
+public enum ReportGranularity {
+
+    /** По дням. */
+    DAY("По дням"),
+
+    /** По неделям, начиная с понедельника. */
+    WEEK("По неделям"),
+
+    /** По месяцам. */
+    MONTH("По месяцам"),
+
+    /** По кварталам. */
+    QUARTER("По кварталам"),
+
+    /** По годам. */
+    YEAR("По годам");
+
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private final String title;
+
+    ReportGranularity(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Возвращает название шага группировки для отображения пользователю.
+     *
+     * @return название шага
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Возвращает первый день периода, в который попадает дата.
+     *
+     * @param date дата
+     * @return первый день периода
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Формирует подпись периода, например «12.02.2024», «январь 2024», «1 кв. 2024» или «2024».
+     *
+     * @param periodStart первый день периода
+     * @return подпись периода
+     */
+    public String formatPeriod(LocalDate periodStart) {
+        return switch (this) {
+            case DAY -> periodStart.format(DAY_FORMAT);
+            case WEEK -> "нед. " + periodStart.format(DAY_FORMAT);
+            case MONTH -> periodStart.format(DateTimeFormatter.ofPattern("LLLL yyyy", Locale.getDefault()));
+            case QUARTER -> ((periodStart.getMonthValue() - 1) / 3 + 1) + " кв. " + periodStart.getYear();
+            case YEAR -> String.valueOf(periodStart.getYear());
+        };
+    }
+
+    @Override
+    public String toString() {
+        return title;
+    }
+}
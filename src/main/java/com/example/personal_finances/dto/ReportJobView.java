@@ -0,0 +1,12 @@
+package com.example.personal_finances.dto;
+
+/**
+ * Состояние задания на построение отчета для ответа клиенту.
+ *
+ * @param id идентификатор задания
+ * @param status состояние задания: PENDING, RUNNING, DONE или FAILED
+ * @param result результат отчета (только для выполненного задания)
+ * @param error описание ошибки (только для завершившегося с ошибкой задания)
+ */
+public record ReportJobView(String id, String status, ReportResult result, String error) {
+}
@@ -0,0 +1,13 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Результат построения отчета по категории.
+ *
+ * @param totals суммы по периодам, упорядоченные по возрастанию начала периода
+ * @param rangeTotal сумма за весь диапазон отчета
+ */
+public record ReportResult(List<PeriodTotal> totals, BigDecimal rangeTotal) {
+}
@@ -0,0 +1,18 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Строка выгрузки транзакций пользователя.
+ *
+ * @param id идентификатор транзакции
+ * @param date дата транзакции
+ * @param name название транзакции
+ * @param amount сумма транзакции
+ * @param categoryName название категории
+ * @param categoryType тип категории ("INCOME" или "EXPENSE")
+ */
+public record TransactionExportRow(Long id, LocalDate date, String name, BigDecimal amount,
+                                   String categoryName, String categoryType) {
+}
@@ -0,0 +1,15 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Строка пакетной загрузки транзакций.
+ *
+ * @param categoryId идентификатор категории
+ * @param name название транзакции
+ * @param date дата транзакции
+ * @param amount сумма транзакции
+ */
+public record TransactionImportRow(Long categoryId, String name, LocalDate date, BigDecimal amount) {
+}
@@ -0,0 +1,17 @@
+package com.example.personal_finances.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Страница списка транзакций, упорядоченного по убыванию даты и идентификатора.
+ *
+ * Для получения следующей страницы значения {@code nextBeforeDate} и
+ * {@code nextBeforeId} передаются в параметрах {@code beforeDate} и {@code beforeId}.
+ *
+ * @param items транзакции страницы
+ * @param nextBeforeDate дата последней транзакции страницы или null, если страница последняя
+ * @param nextBeforeId идентификатор последней транзакции страницы или null, если страница последняя
+ */
+public record TransactionPage(List<TransactionView> items, LocalDate nextBeforeDate, Long nextBeforeId) {
+}
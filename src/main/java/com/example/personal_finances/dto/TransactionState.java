@@ -0,0 +1,15 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Сохраненное в базе данных состояние транзакции, от которого зависят помесячные итоги.
+ *
+ * @param userId идентификатор владельца категории
+ * @param categoryId идентификатор категории
+ * @param date дата транзакции
+ * @param amount сумма транзакции
+ */
+public record TransactionState(Long userId, Long categoryId, LocalDate date, BigDecimal amount) {
+}
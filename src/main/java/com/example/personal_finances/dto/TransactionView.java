@@ -0,0 +1,18 @@
+package com.example.personal_finances.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Транзакция в списке транзакций пользователя.
+ *
+ * @param id идентификатор транзакции
+ * @param name название транзакции
+ * @param date дата транзакции
+ * @param amount сумма транзакции
+ * @param categoryId идентификатор категории
+ * @param categoryName название категории
+ */
+public record TransactionView(Long id, String name, LocalDate date, BigDecimal amount,
+                              Long categoryId, String categoryName) {
+}
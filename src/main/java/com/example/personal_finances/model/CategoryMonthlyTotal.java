@@ -0,0 +1,46 @@
+package com.example.personal_finances.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Сущность, представляющая накопленный итог транзакций категории за месяц.
+ *
+ * Таблица поддерживается сервисом транзакций при каждом изменении
+ * и позволяет строить отчеты без чтения исходных транзакций.
+ */
+@Entity
+@Table(name = "category_monthly_totals")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthlyTotal {
+
+    /** Категория и месяц итога. */
+    @EmbeddedId
+    private CategoryMonthlyTotalId id;
+
+    /** Сумма транзакций за месяц. */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    /** Количество транзакций за месяц. */
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Override
+    public String toString() {
+        return "CategoryMonthlyTotal{" +
+                "categoryId=" + id.getCategoryId() +
+                ", periodStart=" + id.getPeriodStart() +
+                ", total=" + total +
+                ", transactionCount=" + transactionCount +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.personal_finances.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Составной ключ помесячного итога: категория и первый день месяца.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryMonthlyTotalId implements Serializable {
+
+    /** Идентификатор категории. */
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    /** Первый день месяца, за который накоплен итог. */
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CategoryMonthlyTotalId that = (CategoryMonthlyTotalId) o;
+        return Objects.equals(categoryId, that.categoryId) && Objects.equals(periodStart, that.periodStart);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(categoryId, periodStart);
+    }
+}
@@ -19,13 +19,17 @@ import java.util.Objects;
 @AllArgsConstructor
 public class Transaction {
 
+    /** Максимальная длина названия транзакции (колонка name). */
+    public static final int NAME_MAX_LENGTH = 255;
+
     /** Идентификатор транзакции. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_id_seq")
+    @SequenceGenerator(name = "transactions_id_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     /** Название транзакции. */
-    @Column(unique = false, nullable = false)
+    @Column(unique = false, nullable = false, length = NAME_MAX_LENGTH)
     private String name;
 
     /** Дата совершения транзакции. */
@@ -37,8 +41,8 @@ public class Transaction {
     @Column(precision = 10, scale = 2)
     private BigDecimal amount;
 
-    /** Категория, к которой относится транзакция. */
-    @ManyToOne
+    /** Категория, к которой относится транзакция. Загружается лениво, см. {@code TransactionRepository}. */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
@@ -95,7 +99,7 @@ public class Transaction {
                 "id=" + id +
                 ", date=" + date +
                 ", amount=" + amount +
-                ", category=" + category +
+                ", categoryId=" + (category != null ? category.getId() : null) +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.example.personal_finances.repository;
+
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.model.CategoryMonthlyTotal;
+import com.example.personal_finances.model.CategoryMonthlyTotalId;
+import com.example.personal_finances.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Интерфейс репозитория для работы с помесячными итогами категорий.
+ */
+@Repository
+public interface CategoryMonthlyTotalRepository extends JpaRepository<CategoryMonthlyTotal, CategoryMonthlyTotalId> {
+
+    /**
+     * Прибавляет сумму и количество транзакций к существующему итогу.
+     *
+     * @param id категория и месяц итога.
+     * @param amount прибавляемая сумма (может быть отрицательной).
+     * @param count прибавляемое количество транзакций (может быть отрицательным).
+     * @return количество обновленных строк: 0, если итога за этот месяц еще нет.
+     */
+    @Modifying
+    @Query("update CategoryMonthlyTotal r " +
+            "set r.total = r.total + :amount, r.transactionCount = r.transactionCount + :count " +
+            "where r.id = :id")
+    int addToTotal(@Param("id") CategoryMonthlyTotalId id, @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    /**
+     * Создает итог, если итога за этот месяц еще нет. Если строку с тем же ключом в этот момент
+     * вставляет другая транзакция, запрос дожидается ее завершения и ничего не вставляет,
+     * вместо того чтобы завершиться нарушением первичного ключа.
+     * Запрос затрагивает только таблицу итогов, поэтому кэш второго уровня не сбрасывается.
+     *
+     * @param categoryId идентификатор категории.
+     * @param periodStart первый день месяца.
+     * @param amount сумма транзакций.
+     * @param count количество транзакций.
+     * @return 1, если итог создан; 0, если он уже существует.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category_monthly_totals"))
+    @Query(value = "insert into category_monthly_totals (category_id, period_start, total, transaction_count) " +
+            "values (:categoryId, :periodStart, :amount, :count) " +
+            "on conflict do nothing",
+            nativeQuery = true)
+    int insertTotalIfAbsent(@Param("categoryId") Long categoryId, @Param("periodStart") LocalDate periodStart,
+                            @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    /**
+     * Возвращает все помесячные итоги категории пользователя.
+     *
+     * @param categoryId идентификатор категории.
+     * @param user пользователь, которому принадлежит категория.
+     * @return помесячные суммы, упорядоченные по возрастанию месяца.
+     */
+    @Query("select new com.example.personal_finances.dto.MonthlyTotal(year(r.id.periodStart), month(r.id.periodStart), r.total) " +
+            "from CategoryMonthlyTotal r join Category c on c.id = r.id.categoryId " +
+            "where c.id = :categoryId and c.user = :user and r.transactionCount > 0 " +
+            "order by r.id.periodStart")
+    List<MonthlyTotal> findMonthlyTotals(@Param("categoryId") Long categoryId, @Param("user") User user);
+
+    /**
+     * Возвращает помесячные итоги категории пользователя за месяцы в заданном диапазоне.
+     *
+     * @param categoryId идентификатор категории.
+     * @param user пользователь, которому принадлежит категория.
+     * @param firstMonth первый день первого месяца диапазона.
+     * @param lastMonth первый день последнего месяца диапазона.
+     * @return помесячные суммы, упорядоченные по возрастанию месяца.
+     */
+    @Query("select new com.example.personal_finances.dto.MonthlyTotal(year(r.id.periodStart), month(r.id.periodStart), r.total) " +
+            "from CategoryMonthlyTotal r join Category c on c.id = r.id.categoryId " +
+            "where c.id = :categoryId and c.user = :user and r.transactionCount > 0 " +
+            "and r.id.periodStart between :firstMonth and :lastMonth " +
+            "order by r.id.periodStart")
+    List<MonthlyTotal> findMonthlyTotalsBetween(@Param("categoryId") Long categoryId,
+                                                @Param("user") User user,
+                                                @Param("firstMonth") LocalDate firstMonth,
+                                                @Param("lastMonth") LocalDate lastMonth);
+
+    /**
+     * Возвращает помесячные итоги, просуммированные по всем категориям пользователя указанного типа.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE").
+     * @param user пользователь, которому принадлежат категории.
+     * @return помесячные суммы, упорядоченные по возрастанию месяца.
+     */
+    @Query("select new com.example.personal_finances.dto.MonthlyTotal(year(r.id.periodStart), month(r.id.periodStart), sum(r.total)) " +
+            "from CategoryMonthlyTotal r join Category c on c.id = r.id.categoryId " +
+            "where c.type = :type and c.user = :user and r.transactionCount > 0 " +
+            "group by r.id.periodStart " +
+            "order by r.id.periodStart")
+    List<MonthlyTotal> findMonthlyTotalsByType(@Param("type") String type, @Param("user") User user);
+
+    /**
+     * Возвращает помесячные итоги по всем категориям пользователя указанного типа за месяцы в заданном диапазоне.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE").
+     * @param user пользователь, которому принадлежат категории.
+     * @param firstMonth первый день первого месяца диапазона.
+     * @param lastMonth первый день последнего месяца диапазона.
+     * @return помесячные суммы, упорядоченные по возрастанию месяца.
+     */
+    @Query("select new com.example.personal_finances.dto.MonthlyTotal(year(r.id.periodStart), month(r.id.periodStart), sum(r.total)) " +
+            "from CategoryMonthlyTotal r join Category c on c.id = r.id.categoryId " +
+            "where c.type = :type and c.user = :user and r.transactionCount > 0 " +
+            "and r.id.periodStart between :firstMonth and :lastMonth " +
+            "group by r.id.periodStart " +
+            "order by r.id.periodStart")
+    List<MonthlyTotal> findMonthlyTotalsByTypeBetween(@Param("type") String type,
+                                                      @Param("user") User user,
+                                                      @Param("firstMonth") LocalDate firstMonth,
+                                                      @Param("lastMonth") LocalDate lastMonth);
+
+    /**
+     * Удаляет все помесячные итоги.
+     */
+    @Modifying
+    @Query("delete from CategoryMonthlyTotal")
+    void deleteAllTotals();
+
+    /**
+     * Пересчитывает помесячные итоги по всем существующим транзакциям.
+     *
+     * @return количество созданных строк итогов.
+     */
+    @Modifying
+    @Query(value = "insert into category_monthly_totals (category_id, period_start, total, transaction_count) " +
+            "select t.category_id, cast(date_trunc('month', t.date) as date), coalesce(sum(t.amount), 0), count(*) " +
+            "from transactions t " +
+            "group by t.category_id, cast(date_trunc('month', t.date) as date)",
+            nativeQuery = true)
+    int insertTotalsFromTransactions();
+}
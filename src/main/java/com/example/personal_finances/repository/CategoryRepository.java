@@ -2,7 +2,10 @@ package com.example.personal_finances.repository;
 
 import com.example.personal_finances.model.Category;
 import com.example.personal_finances.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
@@ -11,6 +14,7 @@ import java.util.List;
  *
  * Этот интерфейс предоставляет методы для выполнения операций
  * с категориями в базе данных, включая поиск по имени, типу и пользователю.
+ * Результаты поисковых запросов хранятся в кэше запросов (регион category-queries).
  */
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
@@ -20,6 +24,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param name имя категории.
      * @return категория с указанным именем или null, если не найдена.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
     Category findByName(String name);
 
     /**
@@ -28,6 +36,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param type тип категории (например, "INCOME" или "EXPENSE").
      * @return список категорий с указанным типом.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
     List<Category> findByType(String type);
 
     /**
@@ -36,6 +48,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param user пользователь, которому принадлежат категории.
      * @return список категорий, принадлежащих указанному пользователю.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
     List<Category> findByUser (User user);
 
     /**
@@ -45,6 +61,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param user пользователь, которому принадлежат категории.
      * @return список категорий с указанным типом и принадлежащих указанному пользователю.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
     List<Category> findByTypeAndUser (String type, User user);
 
     /**
@@ -54,5 +74,9 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param user пользователь, которому принадлежит категория.
      * @return категория с указанным именем и принадлежащая указанному пользователю или null, если не найдена.
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "category-queries")
+    })
     Category findByNameAndUser (String name, User user);
 }
\ No newline at end of file
@@ -1,19 +1,40 @@
 package com.example.personal_finances.repository;
 
+import com.example.personal_finances.dto.CategoryDailyTotal;
+import com.example.personal_finances.dto.CategoryPeriodTotal;
+import com.example.personal_finances.dto.DailyTotal;
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.dto.TransactionExportRow;
+import com.example.personal_finances.dto.TransactionState;
+import com.example.personal_finances.dto.TransactionView;
 import com.example.personal_finances.model.Transaction;
 import com.example.personal_finances.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Интерфейс репозитория для работы с сущностью Transaction.
  *
  * Этот интерфейс предоставляет методы для выполнения операций
  * с транзакциями в базе данных, включая поиск по датам, категориям и пользователям.
+ *
+ * Категория транзакции загружается лениво. Методы, результат которых выводится
+ * вместе с категорией, загружают ее тем же запросом через {@link EntityGraph}.
+ * Списки сущностей загружаются только для чтения (без снимков для проверки изменений);
+ * отчеты и постраничные списки используют проекции {@code MonthlyTotal} и {@code TransactionView}.
  */
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -26,14 +47,38 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @param sort параметры сортировки.
      * @return список транзакций, удовлетворяющих условиям.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Transaction> findByDateBetween(LocalDate startDate, LocalDate endDate, Sort sort);
 
+    /**
+     * Поиск транзакции по идентификатору вместе с ее категорией.
+     *
+     * @param id идентификатор транзакции.
+     * @return транзакция с загруженной категорией или пустой Optional, если не найдена.
+     */
+    @EntityGraph(attributePaths = "category")
+    Optional<Transaction> findWithCategoryById(Long id);
+
+    /**
+     * Читает сохраненное состояние транзакции. Запрос не сбрасывает в базу изменения
+     * контекста персистентности, поэтому возвращает прежние значения и тогда,
+     * когда загруженная в этот же контекст транзакция уже изменена.
+     *
+     * @param id идентификатор транзакции.
+     * @return категория, дата и сумма транзакции, если она существует.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("select new com.example.personal_finances.dto.TransactionState(c.user.id, c.id, t.date, t.amount) " +
+            "from Transaction t join t.category c where t.id = :id")
+    Optional<TransactionState> findStateById(@Param("id") Long id);
+
     /**
      * Поиск всех транзакций по указанной категории.
      *
      * @param categoryId идентификатор категории, по которой производится поиск.
      * @return список транзакций, относящихся к данной категории.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Transaction> findByCategory_Id(Long categoryId);
 
     /**
@@ -41,8 +86,10 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      *
      * @param user пользователь, которому принадлежат транзакции.
      * @param sort параметры сортировки.
-     * @return список транзакций, принадлежащих указанному пользователю.
+     * @return список транзакций, принадлежащих указанному пользователю, вместе с категориями.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByCategory_User(User user, Sort sort);
 
     /**
@@ -52,7 +99,242 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
      * @param endDate конечная дата диапазона.
      * @param user пользователь, которому принадлежат транзакции.
      * @param sort параметры сортировки.
-     * @return список транзакций, удовлетворяющих условиям.
+     * @return список транзакций, удовлетворяющих условиям, вместе с категориями.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByDateBetweenAndCategory_User(LocalDate startDate, LocalDate endDate, User user, Sort sort);
+
+    /**
+     * Суммирует транзакции категории по дням.
+     *
+     * @param categoryId идентификатор категории.
+     * @return суммы по дням, упорядоченные по дате.
+     */
+    @Query("select new com.example.personal_finances.dto.DailyTotal(t.date, sum(t.amount)) " +
+            "from Transaction t where t.category.id = :categoryId " +
+            "group by t.date order by t.date")
+    List<DailyTotal> sumDailyByCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Суммирует транзакции пользователя по категориям и дням.
+     *
+     * @param user пользователь, которому принадлежат транзакции.
+     * @return суммы и количества транзакций по категориям и дням.
+     */
+    @Query("select new com.example.personal_finances.dto.CategoryDailyTotal(c.id, t.date, sum(t.amount), count(t)) " +
+            "from Transaction t join t.category c where c.user = :user " +
+            "group by c.id, t.date")
+    List<CategoryDailyTotal> sumDailyByUser(@Param("user") User user);
+
+    /**
+     * Суммирует транзакции категории пользователя по месяцам в пределах диапазона дат.
+     *
+     * @param categoryId идентификатор категории.
+     * @param user пользователь, которому принадлежит категория.
+     * @param startDate начальная дата диапазона (включительно).
+     * @param endDate конечная дата диапазона (включительно).
+     * @return помесячные суммы, упорядоченные по возрастанию месяца.
+     */
+    @Query("select new com.example.personal_finances.dto.MonthlyTotal(year(t.date), month(t.date), sum(t.amount)) " +
+            "from Transaction t " +
+            "where t.category.id = :categoryId and t.category.user = :user " +
+            "and t.date between :startDate and :endDate " +
+            "group by year(t.date), month(t.date) " +
+            "order by year(t.date), month(t.date)")
+    List<MonthlyTotal> sumMonthlyByCategoryAndDateBetween(@Param("categoryId") Long categoryId,
+                                                          @Param("user") User user,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
+
+    /**
+     * Суммирует по месяцам транзакции всех категорий пользователя указанного типа в пределах диапазона дат.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE").
+     * @param user пользователь, которому принадлежат категории.
+     * @param startDate начальная дата диапазона (включительно).
+     * @param endDate конечная дата диапазона (включительно).
+     * @return помесячные суммы, упорядоченные по возрастанию месяца.
+     */
+    @Query("select new com.example.personal_finances.dto.MonthlyTotal(year(t.date), month(t.date), sum(t.amount)) " +
+            "from Transaction t " +
+            "where t.category.type = :type and t.category.user = :user " +
+            "and t.date between :startDate and :endDate " +
+            "group by year(t.date), month(t.date) " +
+            "order by year(t.date), month(t.date)")
+    List<MonthlyTotal> sumMonthlyByTypeAndDateBetween(@Param("type") String type,
+                                                      @Param("user") User user,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+
+    /**
+     * Суммирует транзакции категории пользователя по дням в пределах диапазона дат.
+     *
+     * @param categoryId идентификатор категории.
+     * @param user пользователь, которому принадлежит категория.
+     * @param startDate начальная дата диапазона (включительно).
+     * @param endDate конечная дата диапазона (включительно).
+     * @return суммы по дням, упорядоченные по дате.
+     */
+    @Query("select new com.example.personal_finances.dto.DailyTotal(t.date, sum(t.amount)) " +
+            "from Transaction t " +
+            "where t.category.id = :categoryId and t.category.user = :user " +
+            "and t.date between :startDate and :endDate " +
+            "group by t.date order by t.date")
+    List<DailyTotal> sumDailyByCategoryAndDateBetween(@Param("categoryId") Long categoryId,
+                                                      @Param("user") User user,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+
+    /**
+     * Суммирует по дням транзакции всех категорий пользователя указанного типа в пределах диапазона дат.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE").
+     * @param user пользователь, которому принадлежат категории.
+     * @param startDate начальная дата диапазона (включительно).
+     * @param endDate конечная дата диапазона (включительно).
+     * @return суммы по дням, упорядоченные по дате.
+     */
+    @Query("select new com.example.personal_finances.dto.DailyTotal(t.date, sum(t.amount)) " +
+            "from Transaction t " +
+            "where t.category.type = :type and t.category.user = :user " +
+            "and t.date between :startDate and :endDate " +
+            "group by t.date order by t.date")
+    List<DailyTotal> sumDailyByTypeAndDateBetween(@Param("type") String type,
+                                                  @Param("user") User user,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * Суммирует транзакции каждой категории пользователя указанного типа по месяцам
+     * в пределах диапазона дат одним запросом.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE").
+     * @param user пользователь, которому принадлежат категории.
+     * @param startDate начальная дата диапазона (включительно).
+     * @param endDate конечная дата диапазона (включительно).
+     * @return суммы категорий по месяцам, упорядоченные по категории и месяцу.
+     */
+    @Query("select new com.example.personal_finances.dto.CategoryPeriodTotal(c.id, c.name, year(t.date), month(t.date), sum(t.amount)) " +
+            "from Transaction t join t.category c " +
+            "where c.type = :type and c.user = :user " +
+            "and t.date between :startDate and :endDate " +
+            "group by c.id, c.name, year(t.date), month(t.date) " +
+            "order by c.id, year(t.date), month(t.date)")
+    List<CategoryPeriodTotal> sumMonthlyByCategoryOfType(@Param("type") String type,
+                                                         @Param("user") User user,
+                                                         @Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Суммирует транзакции каждой категории пользователя указанного типа по дням
+     * в пределах диапазона дат одним запросом.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE").
+     * @param user пользователь, которому принадлежат категории.
+     * @param startDate начальная дата диапазона (включительно).
+     * @param endDate конечная дата диапазона (включительно).
+     * @return суммы категорий по дням, упорядоченные по категории и дате.
+     */
+    @Query("select new com.example.personal_finances.dto.CategoryPeriodTotal(c.id, c.name, t.date, sum(t.amount)) " +
+            "from Transaction t join t.category c " +
+            "where c.type = :type and c.user = :user " +
+            "and t.date between :startDate and :endDate " +
+            "group by c.id, c.name, t.date " +
+            "order by c.id, t.date")
+    List<CategoryPeriodTotal> sumDailyByCategoryOfType(@Param("type") String type,
+                                                       @Param("user") User user,
+                                                       @Param("startDate") LocalDate startDate,
+                                                       @Param("endDate") LocalDate endDate);
+
+    /**
+     * Возвращает страницу транзакций пользователя, начиная с позиции после заданной пары (дата, идентификатор).
+     *
+     * @param user пользователь, которому принадлежат транзакции.
+     * @param startDate минимальная дата транзакции (включительно).
+     * @param beforeDate дата транзакции, после которой начинается страница.
+     * @param beforeId идентификатор транзакции, после которой начинается страница.
+     * @param limit максимальное количество транзакций на странице.
+     * @return транзакции, упорядоченные по убыванию даты и идентификатора.
+     */
+    @Query("select new com.example.personal_finances.dto.TransactionView(t.id, t.name, t.date, t.amount, c.id, c.name) " +
+            "from Transaction t join t.category c " +
+            "where c.user = :user and t.date >= :startDate " +
+            "and (t.date, t.id) < (:beforeDate, :beforeId) " +
+            "order by t.date desc, t.id desc")
+    List<TransactionView> findPageByUser(@Param("user") User user,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("beforeDate") LocalDate beforeDate,
+                                         @Param("beforeId") Long beforeId,
+                                         Limit limit);
+
+    /**
+     * Возвращает страницу транзакций категории пользователя, начиная с позиции после заданной пары (дата, идентификатор).
+     *
+     * @param user пользователь, которому принадлежит категория.
+     * @param categoryId идентификатор категории.
+     * @param startDate минимальная дата транзакции (включительно).
+     * @param beforeDate дата транзакции, после которой начинается страница.
+     * @param beforeId идентификатор транзакции, после которой начинается страница.
+     * @param limit максимальное количество транзакций на странице.
+     * @return транзакции, упорядоченные по убыванию даты и идентификатора.
+     */
+    @Query("select new com.example.personal_finances.dto.TransactionView(t.id, t.name, t.date, t.amount, c.id, c.name) " +
+            "from Transaction t join t.category c " +
+            "where c.user = :user and c.id = :categoryId and t.date >= :startDate " +
+            "and (t.date, t.id) < (:beforeDate, :beforeId) " +
+            "order by t.date desc, t.id desc")
+    List<TransactionView> findPageByCategory(@Param("user") User user,
+                                             @Param("categoryId") Long categoryId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("beforeDate") LocalDate beforeDate,
+                                             @Param("beforeId") Long beforeId,
+                                             Limit limit);
+
+    /**
+     * Возвращает страницу транзакций всех категорий пользователя указанного типа,
+     * начиная с позиции после заданной пары (дата, идентификатор).
+     *
+     * @param user пользователь, которому принадлежат категории.
+     * @param type тип категорий ("INCOME" или "EXPENSE").
+     * @param startDate минимальная дата транзакции (включительно).
+     * @param beforeDate дата транзакции, после которой начинается страница.
+     * @param beforeId идентификатор транзакции, после которой начинается страница.
+     * @param limit максимальное количество транзакций на странице.
+     * @return транзакции, упорядоченные по убыванию даты и идентификатора.
+     */
+    @Query("select new com.example.personal_finances.dto.TransactionView(t.id, t.name, t.date, t.amount, c.id, c.name) " +
+            "from Transaction t join t.category c " +
+            "where c.user = :user and c.type = :type and t.date >= :startDate " +
+            "and (t.date, t.id) < (:beforeDate, :beforeId) " +
+            "order by t.date desc, t.id desc")
+    List<TransactionView> findPageByType(@Param("user") User user,
+                                         @Param("type") String type,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("beforeDate") LocalDate beforeDate,
+                                         @Param("beforeId") Long beforeId,
+                                         Limit limit);
+
+    /**
+     * Потоково выбирает транзакции пользователя для выгрузки.
+     * Строки читаются курсором порциями по размеру выборки и не попадают в контекст персистентности.
+     * Поток должен быть закрыт и прочитан внутри транзакции.
+     *
+     * @param user пользователь, которому принадлежат транзакции.
+     * @param startDate начальная дата диапазона (включительно).
+     * @param endDate конечная дата диапазона (включительно).
+     * @return поток строк выгрузки, упорядоченных по дате и идентификатору.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select new com.example.personal_finances.dto.TransactionExportRow(t.id, t.date, t.name, t.amount, c.name, c.type) " +
+            "from Transaction t join t.category c " +
+            "where c.user = :user and t.date between :startDate and :endDate " +
+            "order by t.date, t.id")
+    Stream<TransactionExportRow> streamForExport(@Param("user") User user,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate);
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.personal_finances.service;
+
+import java.math.BigDecimal;
+import java.util.regex.Pattern;
+
+/**
+ * Проверка и разбор денежных сумм, вводимых пользователем или загружаемых из выписок.
+ *
+ * Допустимая сумма — неотрицательное число, содержащее не более 15 цифр
+ * в целой части и не более 2 цифр после точки.
+ */
+public final class AmountParser {
+
+    /** Наибольшее количество цифр в целой части суммы, хранимой в колонке NUMERIC(10, 2). */
+    public static final int MAX_STORED_INTEGER_DIGITS = 8;
+
+    /** Наибольшее количество цифр после точки в хранимой сумме. */
+    public static final int MAX_STORED_FRACTION_DIGITS = 2;
+
+    private static final Pattern AMOUNT_PATTERN = Pattern.compile("^(\\d{0,15}(\\.\\d{0,2})?)?$");
+
+    private AmountParser() {
+    }
+
+    /**
+     * Проверяет, является ли строка допустимой суммой или ее началом при вводе.
+     *
+     * @param value строковое значение для проверки.
+     * @return true, если значение является допустимым положительным числом или пустой строкой, иначе false.
+     */
+    public static boolean isValid(String value) {
+        return value != null && AMOUNT_PATTERN.matcher(value).matches();
+    }
+
+    /**
+     * Разбирает сумму из выписки. Пробелы (в том числе неразрывные) удаляются,
+     * а запятая считается десятичным разделителем.
+     *
+     * @param value строковое значение суммы, возможно со знаком.
+     * @return сумма со знаком или null, если значение не является допустимой суммой.
+     */
+    public static BigDecimal parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.replace(" ", "").replace("\u00A0", "").replace(',', '.').trim();
+        boolean negative = normalized.startsWith("-");
+        if (negative || normalized.startsWith("+")) {
+            normalized = normalized.substring(1);
+        }
+        if (normalized.isEmpty() || normalized.equals(".") || !isValid(normalized)) {
+            return null;
+        }
+        BigDecimal amount = new BigDecimal(normalized);
+        return negative ? amount.negate() : amount;
+    }
+
+    /**
+     * Проверяет, помещается ли сумма в колонку amount таблицы transactions (NUMERIC(10, 2))
+     * без округления. Незначащие нули после точки не учитываются.
+     *
+     * @param amount сумма со знаком.
+     * @return true, если сумма не null и сохраняется в базе данных без потери точности, иначе false.
+     */
+    public static boolean fitsStoredPrecision(BigDecimal amount) {
+        if (amount == null) {
+            return false;
+        }
+        BigDecimal stripped = amount.stripTrailingZeros();
+        return stripped.scale() <= MAX_STORED_FRACTION_DIGITS
+                && stripped.precision() - stripped.scale() <= MAX_STORED_INTEGER_DIGITS;
+    }
+}
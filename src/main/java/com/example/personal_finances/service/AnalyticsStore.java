@@ -0,0 +1,377 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.dto.CategoryDailyTotal;
+import com.example.personal_finances.dto.CategoryPeriodTotal;
+import com.example.personal_finances.dto.DailyTotal;
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Колоночное хранилище транзакций для аналитического режима (finances.analytics.enabled).
+ *
+ * Транзакции пользователя загружаются одним запросом, сгруппированными по категориям и дням,
+ * в примитивные массивы: день (epoch day), сумма в копейках, количество транзакций
+ * и номер категории. Отчеты вычисляются проходом по массивам без запросов к базе данных.
+ *
+ * После фиксации изменения транзакций пользователя его хранилище удаляется из кэша
+ * и при следующем обращении загружается заново (см. {@link RangeTotalService}: загрузка,
+ * выполняемая одновременно с фиксацией, может как включать, так и не включать изменение).
+ * Загруженное хранилище не изменяется, поэтому читается без блокировок, а его вес
+ * в кэше остается равным числу строк.
+ *
+ * Хранилища пользователей вытесняются по принципу LRU, когда общее число строк превышает
+ * finances.analytics.maximum-rows, и перечитываются из базы данных не реже,
+ * чем раз в finances.analytics.reload-after-seconds.
+ */
+@Service
+public class AnalyticsStore {
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryService categoryService;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${finances.analytics.enabled:false}")
+    private boolean enabled;
+
+    @Value("${finances.analytics.maximum-rows:5000000}")
+    private long maximumRows;
+
+    @Value("${finances.analytics.reload-after-seconds:3600}")
+    private long reloadAfterSeconds;
+
+    /** Колонки транзакций по идентификатору пользователя. */
+    private Cache<Long, UserColumns> columnsByUser;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param transactionRepository репозиторий транзакций
+     * @param categoryService сервис категорий
+     * @param meterRegistry реестр метрик (может отсутствовать)
+     */
+    public AnalyticsStore(TransactionRepository transactionRepository, CategoryService categoryService,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.categoryService = categoryService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Создает кэш хранилищ пользователей. Вес хранилища — число его строк.
+     */
+    @PostConstruct
+    void initializeCache() {
+        columnsByUser = Caffeine.newBuilder()
+                .maximumWeight(maximumRows)
+                .<Long, UserColumns>weigher((userId, columns) -> Math.max(1, columns.size))
+                .expireAfterWrite(Duration.ofSeconds(reloadAfterSeconds))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, columnsByUser, "analytics"));
+    }
+
+    /**
+     * Проверяет, включен ли аналитический режим.
+     *
+     * @return true, если отчеты строятся по колоночному хранилищу
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Строит помесячный отчет по категории (в том числе виртуальной) за период.
+     *
+     * @param categoryId идентификатор категории
+     * @param user пользователь, которому принадлежит категория
+     * @param startDate начальная дата периода (может быть null)
+     * @param endDate конечная дата периода (может быть null)
+     * @return упорядоченные помесячные суммы
+     */
+    public List<MonthlyTotal> getMonthlyReport(Long categoryId, User user, LocalDate startDate, LocalDate endDate) {
+        UserColumns columns = getColumns(user);
+        int fromDay = startDate != null ? (int) startDate.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = endDate != null ? (int) endDate.toEpochDay() : Integer.MAX_VALUE;
+        MonthlyAggregator aggregator = new MonthlyAggregator();
+        boolean[] mask = columns.mask(categoryId);
+        for (int i = 0; i < columns.size; i++) {
+            int day = columns.days[i];
+            if (mask[columns.categories[i]] && day >= fromDay && day <= toDay) {
+                aggregator.add(monthIndexOfEpochDay(day), columns.cents[i], columns.counts[i]);
+            }
+        }
+        return aggregator.toList();
+    }
+
+    /**
+     * Возвращает суммы транзакций категории (в том числе виртуальной) по дням за период.
+     * Дни, в которых не осталось ни одной транзакции, пропускаются.
+     *
+     * @param categoryId идентификатор категории
+     * @param user пользователь, которому принадлежит категория
+     * @param startDate начальная дата периода (может быть null)
+     * @param endDate конечная дата периода (может быть null)
+     * @return суммы по дням, упорядоченные по дате
+     */
+    public List<DailyTotal> getDailyTotals(Long categoryId, User user, LocalDate startDate, LocalDate endDate) {
+        UserColumns columns = getColumns(user);
+        int fromDay = startDate != null ? (int) startDate.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = endDate != null ? (int) endDate.toEpochDay() : Integer.MAX_VALUE;
+        Map<Integer, long[]> totals = new TreeMap<>();
+        boolean[] mask = columns.mask(categoryId);
+        for (int i = 0; i < columns.size; i++) {
+            int day = columns.days[i];
+            if (mask[columns.categories[i]] && day >= fromDay && day <= toDay) {
+                long[] total = totals.computeIfAbsent(day, key -> new long[2]);
+                total[0] += columns.cents[i];
+                total[1] += columns.counts[i];
+            }
+        }
+        List<DailyTotal> result = new ArrayList<>(totals.size());
+        totals.forEach((day, total) -> {
+            if (total[1] > 0) {
+                result.add(new DailyTotal(LocalDate.ofEpochDay(day), BigDecimal.valueOf(total[0], 2)));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Возвращает суммы транзакций по дням отдельно для каждой категории указанного типа.
+     * Дни, в которых у категории не осталось ни одной транзакции, пропускаются.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE")
+     * @param user пользователь, которому принадлежат категории
+     * @param startDate начальная дата периода (может быть null)
+     * @param endDate конечная дата периода (может быть null)
+     * @return суммы категорий по дням в произвольном порядке
+     */
+    public List<CategoryPeriodTotal> getCategoryDailyTotals(String type, User user, LocalDate startDate, LocalDate endDate) {
+        UserColumns columns = getColumns(user);
+        int fromDay = startDate != null ? (int) startDate.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = endDate != null ? (int) endDate.toEpochDay() : Integer.MAX_VALUE;
+        Map<Long, long[]> totals = new HashMap<>();
+        List<CategoryPeriodTotal> result = new ArrayList<>();
+        boolean[] mask = columns.typeMask(type);
+        for (int i = 0; i < columns.size; i++) {
+            int day = columns.days[i];
+            int category = columns.categories[i];
+            if (mask[category] && day >= fromDay && day <= toDay) {
+                long[] total = totals.computeIfAbsent(((long) category << 32) | (day & 0xFFFFFFFFL), key -> new long[2]);
+                total[0] += columns.cents[i];
+                total[1] += columns.counts[i];
+            }
+        }
+        totals.forEach((key, total) -> {
+            if (total[1] > 0) {
+                int category = (int) (key >>> 32);
+                result.add(new CategoryPeriodTotal(columns.categoryIds[category], columns.categoryNames[category],
+                        LocalDate.ofEpochDay((int) (long) key), BigDecimal.valueOf(total[0], 2)));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Возвращает сумму транзакций категории (в том числе виртуальной) за период.
+     *
+     * @param categoryId идентификатор категории
+     * @param user пользователь, которому принадлежит категория
+     * @param startDate начальная дата периода (может быть null)
+     * @param endDate конечная дата периода (может быть null)
+     * @return сумма за период
+     */
+    public BigDecimal getRangeTotal(Long categoryId, User user, LocalDate startDate, LocalDate endDate) {
+        UserColumns columns = getColumns(user);
+        int fromDay = startDate != null ? (int) startDate.toEpochDay() : Integer.MIN_VALUE;
+        int toDay = endDate != null ? (int) endDate.toEpochDay() : Integer.MAX_VALUE;
+        long total = 0;
+        boolean[] mask = columns.mask(categoryId);
+        for (int i = 0; i < columns.size; i++) {
+            int day = columns.days[i];
+            if (mask[columns.categories[i]] && day >= fromDay && day <= toDay) {
+                total += columns.cents[i];
+            }
+        }
+        return BigDecimal.valueOf(total, 2);
+    }
+
+    /**
+     * Удаляет хранилища пользователей, транзакции которых изменились. Вызывается после фиксации,
+     * поэтому загрузка, начатая после удаления, видит зафиксированные изменения, а загрузка,
+     * выполняющаяся в момент удаления, дожидается окончания и отбрасывается.
+     * Если владелец изменения неизвестен, удаляются все хранилища.
+     *
+     * @param event событие об изменении транзакций
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (TransactionsChangedEvent.Change change : event.changes()) {
+            if (change.userId() == null) {
+                columnsByUser.invalidateAll();
+                return;
+            }
+        }
+        columnsByUser.invalidateAll(event.userIds());
+    }
+
+    /**
+     * Удаляет хранилище пользователя, категории которого изменились: в нем хранятся копии
+     * названий и состав категорий. Как и для транзакций, удаление выполняется после фиксации;
+     * категории сохраняются и вне транзакции, поэтому тогда событие обрабатывается сразу.
+     * Если владелец неизвестен, удаляются все хранилища.
+     *
+     * @param event событие об изменении категорий
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCategoriesChanged(CategoriesChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.userId() == null) {
+            columnsByUser.invalidateAll();
+        } else {
+            columnsByUser.invalidate(event.userId());
+        }
+    }
+
+    /**
+     * Возвращает хранилище пользователя, загружая его при первом обращении.
+     */
+    private UserColumns getColumns(User user) {
+        return columnsByUser.get(user.getId(), id -> load(user));
+    }
+
+    private UserColumns load(User user) {
+        List<Category> categories = categoryService.findByUser(user);
+        List<CategoryDailyTotal> totals = transactionRepository.sumDailyByUser(user);
+        UserColumns columns = new UserColumns(categories, totals.size());
+        for (CategoryDailyTotal total : totals) {
+            Integer category = columns.categoryIndex.get(total.categoryId());
+            if (category != null) {
+                columns.append((int) total.date().toEpochDay(), MonthlyAggregator.toCents(total.total()),
+                        Math.toIntExact(total.count()), category);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Вычисляет индекс месяца (см. {@link MonthlyAggregator#monthIndex(int, int)}) по номеру дня
+     * без создания объектов даты. Используется алгоритм перевода дней в григорианскую дату
+     * с эпохой 1 марта 0000 года.
+     *
+     * @param epochDay номер дня от 1970-01-01
+     * @return индекс месяца
+     */
+    public static int monthIndexOfEpochDay(int epochDay) {
+        int z = epochDay + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return MonthlyAggregator.monthIndex(year, month);
+    }
+
+    /**
+     * Колонки транзакций одного пользователя. Заполняются при загрузке и после этого не изменяются.
+     */
+    private static final class UserColumns {
+
+        private final Map<Long, Integer> categoryIndex = new HashMap<>();
+        private final String[] categoryTypes;
+        private final String[] categoryNames;
+        private final Long[] categoryIds;
+        private int[] days;
+        private long[] cents;
+        private int[] counts;
+        private int[] categories;
+        private int size;
+
+        UserColumns(List<Category> userCategories, int capacity) {
+            categoryTypes = new String[userCategories.size()];
+            categoryNames = new String[userCategories.size()];
+            categoryIds = new Long[userCategories.size()];
+            for (int i = 0; i < userCategories.size(); i++) {
+                Category category = userCategories.get(i);
+                categoryIndex.put(category.getId(), i);
+                categoryTypes[i] = category.getType();
+                categoryNames[i] = category.getName();
+                categoryIds[i] = category.getId();
+            }
+            int length = Math.max(capacity, 16);
+            days = new int[length];
+            cents = new long[length];
+            counts = new int[length];
+            categories = new int[length];
+        }
+
+        void append(int day, long amountCents, int count, int category) {
+            if (size == days.length) {
+                int length = size * 2;
+                days = Arrays.copyOf(days, length);
+                cents = Arrays.copyOf(cents, length);
+                counts = Arrays.copyOf(counts, length);
+                categories = Arrays.copyOf(categories, length);
+            }
+            days[size] = day;
+            cents[size] = amountCents;
+            counts[size] = count;
+            categories[size] = category;
+            size++;
+        }
+
+        /**
+         * Возвращает маску номеров категорий, входящих в отчет по категории.
+         */
+        boolean[] mask(Long categoryId) {
+            if (CategoryService.isVirtualCategory(categoryId)) {
+                return typeMask(CategoryService.getVirtualCategoryType(categoryId));
+            }
+            boolean[] mask = new boolean[categoryIds.length];
+            for (int i = 0; i < mask.length; i++) {
+                mask[i] = categoryIds[i].equals(categoryId);
+            }
+            return mask;
+        }
+
+        /**
+         * Возвращает маску номеров категорий указанного типа.
+         */
+        boolean[] typeMask(String type) {
+            boolean[] mask = new boolean[categoryTypes.length];
+            for (int i = 0; i < mask.length; i++) {
+                mask[i] = type.equals(categoryTypes[i]);
+            }
+            return mask;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.personal_finances.service;
+
+/**
+ * Событие о создании, изменении или удалении категорий, публикуемое {@link CategoryService}.
+ *
+ * Слушатели, которые хранят копии названий или состава категорий, сбрасывают их
+ * после фиксации транзакции.
+ *
+ * @param userId идентификатор владельца категорий или {@code null}, если владелец неизвестен
+ */
+public record CategoriesChangedEvent(Long userId) {
+}
@@ -0,0 +1,178 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.dto.TransactionState;
+import com.example.personal_finances.model.CategoryMonthlyTotalId;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.CategoryMonthlyTotalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сервис для работы с помесячными итогами категорий.
+ *
+ * Этот класс поддерживает таблицу итогов в актуальном состоянии при изменении
+ * транзакций и предоставляет методы для чтения итогов и их полного пересчета.
+ */
+@Service
+public class CategoryMonthlyTotalService {
+
+    private final CategoryMonthlyTotalRepository totalRepository;
+
+    /**
+     * Конструктор для внедрения зависимости репозитория итогов.
+     *
+     * @param totalRepository репозиторий помесячных итогов
+     */
+    @Autowired
+    public CategoryMonthlyTotalService(CategoryMonthlyTotalRepository totalRepository) {
+        this.totalRepository = totalRepository;
+    }
+
+    /**
+     * Учитывает транзакцию в итоге ее категории за месяц.
+     *
+     * @param transaction добавленная транзакция
+     */
+    @Transactional
+    public void add(Transaction transaction) {
+        if (transaction.getCategory() == null || transaction.getDate() == null) {
+            return;
+        }
+        BigDecimal amount = transaction.getAmount() != null ? transaction.getAmount() : BigDecimal.ZERO;
+        apply(totalId(transaction), amount, 1);
+    }
+
+    /**
+     * Исключает сохраненное состояние транзакции из итога ее категории за месяц.
+     *
+     * @param previous состояние удаляемой или изменяемой транзакции
+     */
+    @Transactional
+    public void subtract(TransactionState previous) {
+        if (previous.categoryId() == null || previous.date() == null) {
+            return;
+        }
+        BigDecimal amount = previous.amount() != null ? previous.amount() : BigDecimal.ZERO;
+        apply(new CategoryMonthlyTotalId(previous.categoryId(), previous.date().withDayOfMonth(1)), amount.negate(), -1);
+    }
+
+    /**
+     * Учитывает набор транзакций в помесячных итогах.
+     * Транзакции предварительно суммируются в памяти, поэтому каждый итог
+     * изменяется одним запросом независимо от количества транзакций.
+     *
+     * @param transactions добавленные транзакции
+     */
+    @Transactional
+    public void addAll(Collection<Transaction> transactions) {
+        Map<CategoryMonthlyTotalId, long[]> deltas = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getCategory() == null || transaction.getDate() == null) {
+                continue;
+            }
+            long[] delta = deltas.computeIfAbsent(totalId(transaction), id -> new long[2]);
+            delta[0] += MonthlyAggregator.toCents(transaction.getAmount());
+            delta[1]++;
+        }
+        deltas.forEach((id, delta) -> apply(id, BigDecimal.valueOf(delta[0], 2), delta[1]));
+    }
+
+    /**
+     * Получение всех помесячных итогов категории пользователя.
+     *
+     * @param categoryId идентификатор категории
+     * @param user пользователь, которому принадлежит категория
+     * @return помесячные суммы, упорядоченные по возрастанию месяца
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyTotal> findMonthlyTotals(Long categoryId, User user) {
+        return totalRepository.findMonthlyTotals(categoryId, user);
+    }
+
+    /**
+     * Получение помесячных итогов категории пользователя за месяцы диапазона.
+     *
+     * @param categoryId идентификатор категории
+     * @param user пользователь, которому принадлежит категория
+     * @param firstMonth первый день первого месяца диапазона
+     * @param lastMonth первый день последнего месяца диапазона
+     * @return помесячные суммы, упорядоченные по возрастанию месяца
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyTotal> findMonthlyTotals(Long categoryId, User user, LocalDate firstMonth, LocalDate lastMonth) {
+        return totalRepository.findMonthlyTotalsBetween(categoryId, user, firstMonth, lastMonth);
+    }
+
+    /**
+     * Получение помесячных итогов по всем категориям пользователя указанного типа.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE")
+     * @param user пользователь, которому принадлежат категории
+     * @return помесячные суммы, упорядоченные по возрастанию месяца
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyTotal> findMonthlyTotalsByType(String type, User user) {
+        return totalRepository.findMonthlyTotalsByType(type, user);
+    }
+
+    /**
+     * Получение помесячных итогов по всем категориям пользователя указанного типа за месяцы диапазона.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE")
+     * @param user пользователь, которому принадлежат категории
+     * @param firstMonth первый день первого месяца диапазона
+     * @param lastMonth первый день последнего месяца диапазона
+     * @return помесячные суммы, упорядоченные по возрастанию месяца
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyTotal> findMonthlyTotalsByType(String type, User user, LocalDate firstMonth, LocalDate lastMonth) {
+        return totalRepository.findMonthlyTotalsByTypeBetween(type, user, firstMonth, lastMonth);
+    }
+
+    /**
+     * Полностью пересчитывает помесячные итоги по существующим транзакциям.
+     *
+     * @return количество созданных строк итогов
+     */
+    @Transactional
+    public int rebuild() {
+        totalRepository.deleteAllTotals();
+        return totalRepository.insertTotalsFromTransactions();
+    }
+
+    /**
+     * Прибавляет сумму и количество транзакций к итогу, создавая итог при его отсутствии.
+     * Если итог за месяц одновременно создает другая транзакция, вставка ничего не делает
+     * (без нарушения первичного ключа), и сумма прибавляется к созданной строке.
+     *
+     * @param id категория и месяц итога
+     * @param amount прибавляемая сумма
+     * @param count прибавляемое количество транзакций
+     */
+    private void apply(CategoryMonthlyTotalId id, BigDecimal amount, long count) {
+        if (totalRepository.addToTotal(id, amount, count) == 0
+                && totalRepository.insertTotalIfAbsent(id.getCategoryId(), id.getPeriodStart(), amount, count) == 0) {
+            totalRepository.addToTotal(id, amount, count);
+        }
+    }
+
+    /**
+     * Возвращает ключ итога, к которому относится транзакция.
+     *
+     * @param transaction транзакция
+     * @return категория и первый день месяца транзакции
+     */
+    private static CategoryMonthlyTotalId totalId(Transaction transaction) {
+        return new CategoryMonthlyTotalId(transaction.getCategory().getId(), transaction.getDate().withDayOfMonth(1));
+    }
+}
@@ -3,10 +3,20 @@ package com.example.personal_finances.service;
 import com.example.personal_finances.model.Category;
 import com.example.personal_finances.model.User;
 import com.example.personal_finances.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,13 +25,49 @@ import java.util.Optional;
  *
  * Этот класс предоставляет методы для выполнения операций
  * с категориями, включая создание, обновление, удаление и поиск.
+ *
+ * Категории пользователя кэшируются целиком: поиск по типу и имени выполняется
+ * в памяти, а запись категории сбрасывает кэш ее владельца. В кэше хранятся
+ * неизменяемые снимки, а каждый вызов возвращает новые объекты категорий, поэтому
+ * изменение возвращенной категории (в том числе неудачное сохранение) не затрагивает
+ * кэш и другие потоки.
+ *
+ * Вызовы публичных методов замеряются метрикой finances.service.
  */
 @Service
+@Timed("finances.service")
 public class CategoryService {
 
+    /** Идентификатор виртуальной категории, объединяющей все доходы пользователя. */
+    public static final long ALL_INCOME_ID = -1L;
+
+    /** Идентификатор виртуальной категории, объединяющей все расходы пользователя. */
+    public static final long ALL_EXPENSE_ID = -2L;
+
+    private static final String ALL_INCOME_NAME = "Все доходы";
+    private static final String ALL_EXPENSE_NAME = "Все расходы";
+
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${finances.category-cache.maximum-size:1000}")
+    private long cacheMaximumSize;
+
+    @Value("${finances.category-cache.expire-after-write-seconds:600}")
+    private long cacheExpireAfterWriteSeconds;
+
+    /** Снимки категорий пользователей по идентификатору пользователя. */
+    private Cache<Long, List<CachedCategory>> categoriesByUser;
+
     /**
      * Конструктор без параметров для создания экземпляра класса CategoryService.
      * Этот конструктор используется Spring для создания экземпляра контроллера.
@@ -30,6 +76,19 @@ public class CategoryService {
         // Конструктор по умолчанию
     }
 
+    /**
+     * Создает кэш категорий и регистрирует его метрики (попадания, промахи, вытеснения).
+     */
+    @PostConstruct
+    void initializeCache() {
+        categoriesByUser = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheExpireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, categoriesByUser, "categories"));
+    }
+
     /**
      * Сохраняет новую категорию в базе данных.
      *
@@ -37,6 +96,7 @@ public class CategoryService {
      */
     public void save(Category category) {
         categoryRepository.save(category);
+        evict(category.getUser());
     }
 
     /**
@@ -45,7 +105,11 @@ public class CategoryService {
      * @param category категория для обновления.
      */
     public void update(Category category) {
+        if (category.getUser() == null && category.getId() != null) {
+            categoryRepository.findById(category.getId()).ifPresent(stored -> evict(stored.getUser()));
+        }
         categoryRepository.save(category);
+        evict(category.getUser());
     }
 
     /**
@@ -54,7 +118,10 @@ public class CategoryService {
      * @param id идентификатор категории для удаления.
      */
     public void deleteById(Long id) {
-        categoryRepository.deleteById(id);
+        categoryRepository.findById(id).ifPresent(category -> {
+            categoryRepository.delete(category);
+            evict(category.getUser());
+        });
     }
 
     /**
@@ -94,7 +161,11 @@ public class CategoryService {
      * @return список категорий, принадлежащих указанному пользователю.
      */
     public List<Category> findByUser (User user) {
-        return categoryRepository.findByUser (user);
+        List<Category> categories = new ArrayList<>();
+        for (CachedCategory category : getUserCategories(user)) {
+            categories.add(category.toCategory(user));
+        }
+        return categories;
     }
 
     /**
@@ -105,7 +176,13 @@ public class CategoryService {
      * @return список категорий с указанным типом и принадлежащих указанному пользователю.
      */
     public List<Category> findByTypeAndUser (String type, User user) {
-        return categoryRepository.findByTypeAndUser (type, user);
+        List<Category> categories = new ArrayList<>();
+        for (CachedCategory category : getUserCategories(user)) {
+            if (category.type().equals(type)) {
+                categories.add(category.toCategory(user));
+            }
+        }
+        return categories;
     }
 
     /**
@@ -116,7 +193,12 @@ public class CategoryService {
      * @return категория с указанным именем и принадлежащая указанному пользователю или null, если не найдена.
      */
     public Category findByNameAndUser (String name, User user) {
-        return categoryRepository.findByNameAndUser (name, user);
+        for (CachedCategory category : getUserCategories(user)) {
+            if (category.name().equals(name)) {
+                return category.toCategory(user);
+            }
+        }
+        return null;
     }
 
     /**
@@ -129,17 +211,122 @@ public class CategoryService {
     }
 
     /**
-     * Инициализирует стандартные категории для указанного пользователя.
+     * Возвращает категории для построения отчетов: виртуальные категории
+     * «Все доходы» и «Все расходы», а затем категории пользователя.
+     *
+     * @param user пользователь, для которого формируется список.
+     * @return список категорий для отчетов.
+     */
+    public List<Category> findReportCategories(User user) {
+        List<Category> categories = new ArrayList<>();
+        categories.add(createVirtualCategory(ALL_INCOME_ID, user));
+        categories.add(createVirtualCategory(ALL_EXPENSE_ID, user));
+        categories.addAll(findByUser(user));
+        return categories;
+    }
+
+    /**
+     * Находит категорию для построения отчета, включая виртуальные категории.
+     *
+     * @param id идентификатор категории.
+     * @param user пользователь, которому принадлежит категория.
+     * @return объект Optional, содержащий категорию, если она найдена и принадлежит пользователю.
+     */
+    public Optional<Category> findReportCategory(Long id, User user) {
+        if (isVirtualCategory(id)) {
+            return Optional.of(createVirtualCategory(id, user));
+        }
+        return getUserCategories(user).stream()
+                .filter(category -> category.id().equals(id))
+                .findFirst()
+                .map(category -> category.toCategory(user));
+    }
+
+    /**
+     * Проверяет, является ли идентификатор идентификатором виртуальной категории.
      *
-     * @param user пользователь, для которого инициализируются категории.
+     * @param id идентификатор категории.
+     * @return true, если категория виртуальная, иначе false.
      */
-    @Transactional
-    public void initializeDefaultCategories(User user) {
-        if (categoryRepository.findByNameAndUser ("Все доходы", user) == null) {
-            categoryRepository.save(new Category("Все доходы", "INCOME", user));
+    public static boolean isVirtualCategory(Long id) {
+        return id != null && (id == ALL_INCOME_ID || id == ALL_EXPENSE_ID);
+    }
+
+    /**
+     * Возвращает тип транзакций, которые объединяет виртуальная категория.
+     *
+     * @param id идентификатор виртуальной категории.
+     * @return "INCOME" или "EXPENSE".
+     * @throws IllegalArgumentException если категория не является виртуальной.
+     */
+    public static String getVirtualCategoryType(Long id) {
+        if (!isVirtualCategory(id)) {
+            throw new IllegalArgumentException("Категория не является виртуальной: " + id);
         }
-        if (categoryRepository.findByNameAndUser ("Все расходы", user) == null) {
-            categoryRepository.save(new Category("Все расходы", "EXPENSE", user));
+        return id == ALL_INCOME_ID ? "INCOME" : "EXPENSE";
+    }
+
+    /**
+     * Создает несохраняемый объект виртуальной категории.
+     *
+     * @param id идентификатор виртуальной категории.
+     * @param user пользователь, для которого создается категория.
+     * @return виртуальная категория.
+     */
+    private Category createVirtualCategory(Long id, User user) {
+        String type = getVirtualCategoryType(id);
+        return new Category(id, type.equals("INCOME") ? ALL_INCOME_NAME : ALL_EXPENSE_NAME, type, user);
+    }
+
+    /**
+     * Возвращает снимки категорий пользователя из кэша, загружая их из базы данных при промахе.
+     *
+     * @param user пользователь, которому принадлежат категории.
+     * @return неизменяемый список снимков категорий пользователя.
+     */
+    private List<CachedCategory> getUserCategories(User user) {
+        return categoriesByUser.get(user.getId(), id -> categoryRepository.findByUser (user).stream()
+                .map(CachedCategory::of)
+                .toList());
+    }
+
+    /**
+     * Удаляет из кэша категории пользователя, меняет версию его данных и публикует
+     * {@link CategoriesChangedEvent}. Если владелец неизвестен, кэш очищается и версия
+     * меняется у всех пользователей.
+     *
+     * @param user пользователь, категории которого изменились.
+     */
+    private void evict(User user) {
+        if (user != null && user.getId() != null) {
+            categoriesByUser.invalidate(user.getId());
+            dataVersionService.changed(user.getId());
+            eventPublisher.publishEvent(new CategoriesChangedEvent(user.getId()));
+        } else {
+            categoriesByUser.invalidateAll();
+            dataVersionService.changed(null);
+            eventPublisher.publishEvent(new CategoriesChangedEvent(null));
+        }
+    }
+
+    /**
+     * Неизменяемый снимок категории в кэше.
+     *
+     * @param id идентификатор категории
+     * @param name название категории
+     * @param type тип категории
+     */
+    private record CachedCategory(Long id, String name, String type) {
+
+        static CachedCategory of(Category category) {
+            return new CachedCategory(category.getId(), category.getName(), category.getType());
+        }
+
+        /**
+         * Создает новый объект категории, принадлежащей указанному пользователю.
+         */
+        Category toCategory(User user) {
+            return new Category(id, name, type, user);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.dto.DailyTotal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Индекс сумм по дням на основе дерева Фенвика.
+ *
+ * Суммы хранятся в копейках. Индекс строится один раз за O(n), где n — число дней
+ * между первой и последней датой, и после этого не изменяется; сумма за произвольный
+ * диапазон дат вычисляется за O(log n). Изменившиеся данные не добавляются в индекс:
+ * {@link RangeTotalService} удаляет индекс категории после записи транзакций и лениво
+ * строит новый при следующем запросе. Неизменяемый экземпляр можно читать из разных потоков.
+ */
+public final class DailyTotalsIndex {
+
+    private final long firstDay;
+    private final long[] tree;
+
+    private DailyTotalsIndex(long firstDay, long[] tree) {
+        this.firstDay = firstDay;
+        this.tree = tree;
+    }
+
+    /**
+     * Создает индекс по суммам за дни.
+     *
+     * @param totals суммы по дням, упорядоченные по дате
+     * @return заполненный индекс
+     */
+    public static DailyTotalsIndex of(List<DailyTotal> totals) {
+        if (totals.isEmpty()) {
+            return new DailyTotalsIndex(0, new long[1]);
+        }
+        long first = totals.get(0).date().toEpochDay();
+        long last = totals.get(totals.size() - 1).date().toEpochDay();
+        long[] values = new long[Math.toIntExact(last - first + 1)];
+        for (DailyTotal total : totals) {
+            values[(int) (total.date().toEpochDay() - first)] += MonthlyAggregator.toCents(total.total());
+        }
+        return new DailyTotalsIndex(first, build(values));
+    }
+
+    /**
+     * Возвращает сумму за диапазон дат включительно.
+     *
+     * @param from первый день диапазона или null, если диапазон не ограничен снизу
+     * @param to последний день диапазона или null, если диапазон не ограничен сверху
+     * @return сумма в копейках
+     */
+    public long sum(LocalDate from, LocalDate to) {
+        long fromDay = from != null ? from.toEpochDay() : Long.MIN_VALUE;
+        long toDay = to != null ? to.toEpochDay() : Long.MAX_VALUE;
+        if (fromDay > toDay) {
+            return 0;
+        }
+        return prefix(toDay) - (fromDay == Long.MIN_VALUE ? 0 : prefix(fromDay - 1));
+    }
+
+    /**
+     * Возвращает сумму за все дни до указанного включительно. День сначала ограничивается
+     * последним днем индекса, чтобы разность с первым днем не переполнялась
+     * (например, для Long.MAX_VALUE при первом дне раньше 1970 года).
+     */
+    private long prefix(long day) {
+        if (tree.length == 1 || day < firstDay) {
+            return 0;
+        }
+        long lastDay = firstDay + tree.length - 2;
+        int i = (int) (Math.min(day, lastDay) - firstDay + 1);
+        long sum = 0;
+        for (; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Строит дерево по значениям за дни за O(n).
+     */
+    private static long[] build(long[] values) {
+        long[] tree = new long[values.length + 1];
+        for (int i = 1; i < tree.length; i++) {
+            tree[i] += values[i - 1];
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.model.User;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Сервис версий данных пользователей.
+ *
+ * Версия пользователя меняется после каждой зафиксированной записи его категорий
+ * или транзакций. По версии строятся заголовки ETag и Last-Modified страниц
+ * и ключи кэша сформированных отчетов: пока версия не изменилась, данные
+ * пользователя и все построенные по ним представления остаются актуальными.
+ *
+ * Версии хранятся в памяти и начинаются заново при перезапуске приложения,
+ * поэтому в ETag входит время запуска. Записи учитываются только в пределах одного
+ * контекста Spring, поэтому экраны JavaFX работают с контекстом веб-приложения
+ * (см. {@link com.example.personal_finances.PersonalFinanceManagementSystemApplication}).
+ */
+@Service
+public class DataVersionService {
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Version> versions = new ConcurrentHashMap<>();
+    private volatile Version globalVersion = new Version(0, startedAt);
+
+    /**
+     * Версия данных.
+     *
+     * @param number номер версии, возрастающий при каждом изменении
+     * @param lastModified время изменения в миллисекундах от начала эпохи
+     */
+    public record Version(long number, long lastModified) {
+    }
+
+    /**
+     * Возвращает текущую версию данных пользователя.
+     *
+     * @param user пользователь
+     * @return версия данных
+     */
+    public Version getVersion(User user) {
+        Version global = globalVersion;
+        Version version = versions.get(user.getId());
+        return version != null && version.number() > global.number() ? version : global;
+    }
+
+    /**
+     * Формирует значение ETag для версии данных пользователя.
+     *
+     * @param user пользователь
+     * @param version версия данных пользователя
+     * @return значение ETag без кавычек
+     */
+    public String etag(User user, Version version) {
+        return Long.toHexString(startedAt) + "-" + user.getId() + "-" + version.number();
+    }
+
+    /**
+     * Отмечает изменение данных пользователя. Если изменение выполняется внутри транзакции,
+     * версия меняется после ее фиксации, чтобы по новой версии не были закэшированы старые данные.
+     *
+     * @param userId идентификатор пользователя или null, если владелец изменения неизвестен
+     */
+    public void changed(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(userId);
+                }
+            });
+        } else {
+            increment(userId);
+        }
+    }
+
+    /**
+     * Меняет версии пользователей, чьи транзакции изменились.
+     *
+     * @param event событие об изменении транзакций
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        event.userIds().forEach(this::increment);
+    }
+
+    /**
+     * Присваивает пользователю (или всем пользователям, если он неизвестен) новую версию.
+     */
+    private void increment(Long userId) {
+        if (userId != null) {
+            Version version = new Version(sequence.incrementAndGet(), System.currentTimeMillis());
+            versions.merge(userId, version, (current, next) -> next.number() > current.number() ? next : current);
+        } else {
+            synchronized (this) {
+                globalVersion = new Version(sequence.incrementAndGet(), System.currentTimeMillis());
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.dto.MonthlyTotal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Накопитель помесячных сумм.
+ *
+ * Месяц кодируется целым индексом (год * 12 + номер месяца - 1), а суммы
+ * хранятся в копейках в массиве {@code long}, поэтому добавление значения
+ * не создает объектов и не теряет точности. Январь разных лет попадает
+ * в разные ячейки. Экземпляр не потокобезопасен.
+ */
+public final class MonthlyAggregator {
+
+    private static final int INITIAL_CAPACITY = 12;
+
+    private int firstIndex;
+    private long[] cents;
+    private int[] counts;
+    private boolean empty = true;
+
+    /**
+     * Создает пустой накопитель.
+     */
+    public MonthlyAggregator() {
+        this.cents = new long[INITIAL_CAPACITY];
+        this.counts = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Добавляет сумму к месяцу указанной даты.
+     *
+     * @param date дата транзакции
+     * @param amount сумма транзакции
+     */
+    public void add(LocalDate date, BigDecimal amount) {
+        add(monthIndex(date.getYear(), date.getMonthValue()), toCents(amount));
+    }
+
+    /**
+     * Добавляет готовый помесячный итог.
+     *
+     * @param total помесячный итог
+     */
+    public void add(MonthlyTotal total) {
+        add(monthIndex(total.year(), total.month()), toCents(total.total()));
+    }
+
+    /**
+     * Добавляет все помесячные итоги из списка.
+     *
+     * @param totals помесячные итоги
+     */
+    public void addAll(List<MonthlyTotal> totals) {
+        for (MonthlyTotal total : totals) {
+            add(total);
+        }
+    }
+
+    /**
+     * Добавляет сумму в копейках к месяцу с указанным индексом.
+     *
+     * @param monthIndex индекс месяца, см. {@link #monthIndex(int, int)}
+     * @param amountCents сумма в копейках
+     */
+    public void add(int monthIndex, long amountCents) {
+        add(monthIndex, amountCents, 1);
+    }
+
+    /**
+     * Добавляет к месяцу сумму в копейках и количество транзакций.
+     * Отрицательное количество исключает ранее учтенные транзакции.
+     *
+     * @param monthIndex индекс месяца, см. {@link #monthIndex(int, int)}
+     * @param amountCents сумма в копейках
+     * @param count количество транзакций
+     */
+    public void add(int monthIndex, long amountCents, int count) {
+        if (empty) {
+            firstIndex = monthIndex;
+            empty = false;
+        }
+        ensureCapacity(monthIndex);
+        int slot = monthIndex - firstIndex;
+        cents[slot] += amountCents;
+        counts[slot] += count;
+    }
+
+    /**
+     * Возвращает накопленные итоги в порядке возрастания месяца.
+     * Месяцы, в которых не осталось ни одной транзакции, пропускаются.
+     *
+     * @return упорядоченный список помесячных итогов
+     */
+    public List<MonthlyTotal> toList() {
+        List<MonthlyTotal> result = new ArrayList<>();
+        if (empty) {
+            return result;
+        }
+        for (int slot = 0; slot < cents.length; slot++) {
+            if (counts[slot] > 0) {
+                int index = firstIndex + slot;
+                result.add(new MonthlyTotal(index / 12, index % 12 + 1, BigDecimal.valueOf(cents[slot], 2)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Вычисляет индекс месяца.
+     *
+     * @param year год
+     * @param month номер месяца (1-12)
+     * @return индекс месяца: год * 12 + номер месяца - 1
+     */
+    public static int monthIndex(int year, int month) {
+        return year * 12 + month - 1;
+    }
+
+    /**
+     * Переводит денежную сумму в копейки.
+     *
+     * @param amount сумма или null
+     * @return сумма в копейках; 0 для null
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Расширяет массивы так, чтобы в них поместился месяц с указанным индексом.
+     *
+     * @param monthIndex индекс месяца
+     */
+    private void ensureCapacity(int monthIndex) {
+        if (monthIndex < firstIndex) {
+            int shift = firstIndex - monthIndex;
+            int length = Math.max(cents.length + shift, cents.length * 2);
+            long[] newCents = new long[length];
+            int[] newCounts = new int[length];
+            System.arraycopy(cents, 0, newCents, shift, cents.length);
+            System.arraycopy(counts, 0, newCounts, shift, counts.length);
+            cents = newCents;
+            counts = newCounts;
+            firstIndex = monthIndex;
+        } else if (monthIndex - firstIndex >= cents.length) {
+            int length = Math.max(monthIndex - firstIndex + 1, cents.length * 2);
+            cents = Arrays.copyOf(cents, length);
+            counts = Arrays.copyOf(counts, length);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Сервис сумм транзакций за произвольный диапазон дат.
+ *
+ * Для каждой категории в памяти строится {@link DailyTotalsIndex} по суммам за дни.
+ * Индекс загружается из базы данных при первом обращении к категории, после чего
+ * сумма за любой диапазон вычисляется за O(log n) без запросов к базе данных.
+ *
+ * После фиксации изменения транзакций категории ее индекс удаляется из кэша и при
+ * следующем обращении загружается заново. Изменение не переносится в индекс разницей:
+ * загрузка, выполняемая одновременно с фиксацией, может как включать, так и не включать
+ * зафиксированную строку, и по загруженному индексу это не определить. Удаление индекса,
+ * который в этот момент загружается, дожидается окончания загрузки и отбрасывает ее результат.
+ * Загруженный индекс не изменяется, поэтому читается без блокировок.
+ */
+@Service
+public class RangeTotalService {
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryService categoryService;
+    private final AnalyticsStore analyticsStore;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${finances.range-index.maximum-size:1000}")
+    private long maximumSize;
+
+    @Value("${finances.range-index.reload-after-seconds:3600}")
+    private long reloadAfterSeconds;
+
+    /** Индексы сумм по дням по идентификатору категории. */
+    private Cache<Long, DailyTotalsIndex> indexes;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param transactionRepository репозиторий транзакций
+     * @param categoryService сервис категорий
+     * @param analyticsStore колоночное хранилище для аналитического режима
+     * @param meterRegistry реестр метрик (может отсутствовать)
+     */
+    public RangeTotalService(TransactionRepository transactionRepository, CategoryService categoryService,
+                             AnalyticsStore analyticsStore, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.transactionRepository = transactionRepository;
+        this.categoryService = categoryService;
+        this.analyticsStore = analyticsStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Создает кэш индексов. Срок жизни индекса отсчитывается от загрузки.
+     */
+    @PostConstruct
+    void initializeCache() {
+        indexes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(reloadAfterSeconds))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, indexes, "range-totals"));
+    }
+
+    /**
+     * Возвращает сумму транзакций категории пользователя за диапазон дат.
+     * Для виртуальных категорий «Все доходы» и «Все расходы» суммируются все категории этого типа.
+     * В аналитическом режиме сумма вычисляется по {@link AnalyticsStore}.
+     *
+     * @param categoryId идентификатор категории
+     * @param user пользователь, которому принадлежит категория
+     * @param startDate начальная дата диапазона (может быть null)
+     * @param endDate конечная дата диапазона (может быть null)
+     * @return сумма за диапазон или ноль, если категория не найдена
+     */
+    public BigDecimal getRangeTotal(Long categoryId, User user, LocalDate startDate, LocalDate endDate) {
+        if (analyticsStore.isEnabled()) {
+            return analyticsStore.getRangeTotal(categoryId, user, startDate, endDate);
+        }
+
+        List<Category> categories = CategoryService.isVirtualCategory(categoryId)
+                ? categoryService.findByTypeAndUser(CategoryService.getVirtualCategoryType(categoryId), user)
+                : categoryService.findReportCategory(categoryId, user).stream().toList();
+
+        long cents = 0;
+        for (Category category : categories) {
+            DailyTotalsIndex index = indexes.get(category.getId(),
+                    id -> DailyTotalsIndex.of(transactionRepository.sumDailyByCategory(id)));
+            cents += index.sum(startDate, endDate);
+        }
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Удаляет индексы категорий, транзакции которых изменились. Вызывается после фиксации,
+     * поэтому загрузка, начатая после удаления, видит зафиксированные изменения.
+     *
+     * @param event событие об изменении транзакций
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Set<Long> categoryIds = new HashSet<>();
+        for (TransactionsChangedEvent.Change change : event.changes()) {
+            categoryIds.add(change.categoryId());
+        }
+        indexes.invalidateAll(categoryIds);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Кэш сформированных фрагментов страниц.
+ *
+ * Ключ фрагмента включает версию данных пользователя из {@link DataVersionService},
+ * поэтому после любой записи категорий или транзакций пользователя фрагмент
+ * формируется заново, а устаревшие записи вытесняются по размеру.
+ * Срок жизни фрагмента отсчитывается от формирования и не продлевается обращениями,
+ * поэтому изменения, прошедшие мимо сервисов приложения (например, сделанные другим
+ * экземпляром приложения с той же базой данных), видны не позже чем через этот срок.
+ */
+@Service
+public class RenderedFragmentCache {
+
+    private final DataVersionService dataVersionService;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${finances.fragment-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${finances.fragment-cache.expire-after-write-seconds:600}")
+    private long expireAfterWriteSeconds;
+
+    /** Фрагменты по пользователю, версии его данных и параметрам фрагмента. */
+    private Cache<FragmentKey, String> fragments;
+
+    /**
+     * Ключ фрагмента.
+     */
+    private record FragmentKey(Long userId, long version, String key) {
+    }
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param dataVersionService сервис версий данных пользователей
+     * @param meterRegistry реестр метрик (может отсутствовать)
+     */
+    public RenderedFragmentCache(DataVersionService dataVersionService, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.dataVersionService = dataVersionService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Создает кэш фрагментов и регистрирует его метрики.
+     */
+    @PostConstruct
+    void initializeCache() {
+        fragments = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, fragments, "rendered-fragments"));
+    }
+
+    /**
+     * Возвращает фрагмент из кэша или формирует и сохраняет его.
+     * Версия данных читается до формирования фрагмента, поэтому фрагмент,
+     * построенный одновременно с записью, не будет выдан после ее фиксации.
+     *
+     * @param user пользователь, для которого формируется фрагмент
+     * @param key параметры фрагмента (например, имя отчета, его параметры и язык формирования)
+     * @param renderer функция формирования фрагмента
+     * @return сформированный фрагмент
+     */
+    public String get(User user, String key, Supplier<String> renderer) {
+        long version = dataVersionService.getVersion(user).number();
+        return fragments.get(new FragmentKey(user.getId(), version, key), fragmentKey -> renderer.get());
+    }
+}
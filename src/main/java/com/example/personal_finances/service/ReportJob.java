@@ -0,0 +1,92 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.dto.ReportJobView;
+import com.example.personal_finances.dto.ReportResult;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Задание на построение отчета, выполняемое {@link ReportJobService} в фоновом потоке.
+ */
+public final class ReportJob {
+
+    /**
+     * Состояние задания.
+     */
+    public enum Status {
+        /** Задание ожидает в очереди. */
+        PENDING,
+        /** Отчет строится. */
+        RUNNING,
+        /** Отчет построен. */
+        DONE,
+        /** Построение отчета завершилось ошибкой. */
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final CompletableFuture<ReportResult> future = new CompletableFuture<>();
+    private volatile boolean running;
+
+    ReportJob(Long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Возвращает идентификатор задания.
+     *
+     * @return идентификатор задания
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Возвращает идентификатор пользователя, запросившего отчет.
+     *
+     * @return идентификатор пользователя
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Возвращает результат задания, который завершается при построении отчета
+     * или исключительно при ошибке.
+     *
+     * @return будущий результат отчета
+     */
+    public CompletableFuture<ReportResult> future() {
+        return future;
+    }
+
+    /**
+     * Возвращает текущее состояние задания.
+     *
+     * @return состояние задания
+     */
+    public Status getStatus() {
+        if (future.isDone()) {
+            return future.isCompletedExceptionally() ? Status.FAILED : Status.DONE;
+        }
+        return running ? Status.RUNNING : Status.PENDING;
+    }
+
+    /**
+     * Формирует представление задания для ответа клиенту.
+     *
+     * @return состояние задания с результатом или описанием ошибки
+     */
+    public ReportJobView toView() {
+        Status status = getStatus();
+        ReportResult result = status == Status.DONE ? future.join() : null;
+        String error = status == Status.FAILED ? "Не удалось сформировать отчет." : null;
+        return new ReportJobView(id, status.name(), result, error);
+    }
+
+    void markRunning() {
+        running = true;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.dto.PeriodTotal;
+import com.example.personal_finances.dto.ReportGranularity;
+import com.example.personal_finances.dto.ReportResult;
+import com.example.personal_finances.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сервис фонового построения отчетов.
+ *
+ * Отчет строится в пуле потоков ограниченного размера с очередью ограниченной емкости,
+ * поэтому длинные отчеты не занимают потоки обработки запросов и поток JavaFX.
+ * Одинаковые запросы получают одно и то же задание: и до завершения построения, и после него.
+ * Выполненные задания кэшируются по пользователю, параметрам отчета и версии данных
+ * пользователя из {@link DataVersionService}, поэтому после записи категорий или
+ * транзакций отчет строится заново. Число хранимых заданий ограничено, поэтому
+ * клиент, повторяющий один и тот же запрос, не увеличивает расход памяти.
+ *
+ * Заданиями пользуются адрес /reports/jobs и экраны JavaFX. Страница статистики
+ * (POST /generateReport) формирует отчет в потоке обработки запроса.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    private final TransactionService transactionService;
+    private final RangeTotalService rangeTotalService;
+    private final DataVersionService dataVersionService;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${finances.report-jobs.threads:2}")
+    private int threads;
+
+    @Value("${finances.report-jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${finances.report-jobs.retention-seconds:600}")
+    private long retentionSeconds;
+
+    @Value("${finances.report-jobs.result-cache-size:1000}")
+    private long resultCacheSize;
+
+    @Value("${finances.report-jobs.maximum-jobs:10000}")
+    private long maximumJobs;
+
+    private ThreadPoolExecutor executor;
+
+    /** Задания по идентификатору. Хранятся заданное время после создания. */
+    private Cache<String, ReportJob> jobs;
+
+    /** Выполненные задания по параметрам и версии данных. */
+    private Cache<ReportKey, ReportJob> results;
+
+    /** Выполняющиеся задания по параметрам и версии данных. */
+    private final Map<ReportKey, ReportJob> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Параметры отчета вместе с версией данных пользователя, по которой он строится.
+     */
+    private record ReportKey(Long userId, Long categoryId, LocalDate startDate, LocalDate endDate,
+                             ReportGranularity granularity, long version) {
+    }
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param transactionService сервис транзакций
+     * @param rangeTotalService сервис сумм за диапазон дат
+     * @param dataVersionService сервис версий данных пользователей
+     * @param meterRegistry реестр метрик (может отсутствовать)
+     */
+    public ReportJobService(TransactionService transactionService, RangeTotalService rangeTotalService,
+                            DataVersionService dataVersionService, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.transactionService = transactionService;
+        this.rangeTotalService = rangeTotalService;
+        this.dataVersionService = dataVersionService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Создает пул потоков и кэши заданий и результатов, регистрирует их метрики.
+     */
+    @PostConstruct
+    void initialize() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("report-job-");
+        threadFactory.setDaemon(true);
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        jobs = Caffeine.newBuilder()
+                .maximumSize(maximumJobs)
+                .expireAfterWrite(Duration.ofSeconds(retentionSeconds))
+                .build();
+        results = Caffeine.newBuilder()
+                .maximumSize(resultCacheSize)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> {
+            ExecutorServiceMetrics.monitor(registry, executor, "report-jobs");
+            CaffeineCacheMetrics.monitor(registry, results, "report-results");
+        });
+    }
+
+    /**
+     * Останавливает пул потоков при завершении приложения.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Ставит в очередь построение отчета по категории. Если такой же отчет по текущей
+     * версии данных уже построен, возвращается то же выполненное задание; если он строится,
+     * возвращается выполняющееся задание.
+     *
+     * @param categoryId идентификатор категории (в том числе виртуальной)
+     * @param user пользователь, которому принадлежит категория
+     * @param startDate начальная дата диапазона или null
+     * @param endDate конечная дата диапазона или null
+     * @param granularity шаг группировки
+     * @return задание на построение отчета
+     * @throws RejectedExecutionException если очередь заданий заполнена
+     */
+    public ReportJob submit(Long categoryId, User user, LocalDate startDate, LocalDate endDate,
+                           ReportGranularity granularity) {
+        ReportKey key = new ReportKey(user.getId(), categoryId, startDate, endDate, granularity,
+                dataVersionService.getVersion(user).number());
+        ReportJob completed = results.getIfPresent(key);
+        if (completed != null) {
+            jobs.asMap().putIfAbsent(completed.getId(), completed);
+            return completed;
+        }
+
+        ReportJob job = inFlight.computeIfAbsent(key, k -> start(k, user));
+        if (job.future().isDone()) {
+            inFlight.remove(key, job);
+        }
+        return job;
+    }
+
+    /**
+     * Находит задание пользователя по идентификатору.
+     *
+     * @param id идентификатор задания
+     * @param user пользователь, запросивший отчет
+     * @return задание, если оно существует и принадлежит пользователю
+     */
+    public Optional<ReportJob> findJob(String id, User user) {
+        return Optional.ofNullable(jobs.getIfPresent(id))
+                .filter(job -> job.getUserId().equals(user.getId()));
+    }
+
+    /**
+     * Создает задание и передает его в пул потоков.
+     */
+    private ReportJob start(ReportKey key, User user) {
+        ReportJob job = new ReportJob(user.getId());
+        executor.execute(() -> {
+            job.markRunning();
+            try {
+                List<PeriodTotal> totals = transactionService.getReport(
+                        key.categoryId(), user, key.startDate(), key.endDate(), key.granularity());
+                BigDecimal rangeTotal = rangeTotalService.getRangeTotal(
+                        key.categoryId(), user, key.startDate(), key.endDate());
+                job.future().complete(new ReportResult(totals, rangeTotal));
+                results.put(key, job);
+            } catch (RuntimeException e) {
+                log.warn("Не удалось построить отчет по категории {} пользователя {}.", key.categoryId(), key.userId(), e);
+                job.future().completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, job);
+            }
+        });
+        jobs.put(job.getId(), job);
+        return job;
+    }
+}
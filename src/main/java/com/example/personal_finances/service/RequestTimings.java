@@ -0,0 +1,123 @@
+package com.example.personal_finances.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Разбивка времени обработки текущего HTTP-запроса.
+ *
+ * Накапливает время выполнения SQL-запросов и их количество, время построения
+ * отчетов в Java и время формирования страниц. Данные привязаны к потоку
+ * обработки запроса; вне запроса (поток JavaFX, фоновые задания) методы записи
+ * ничего не делают. Экземпляр используется одним потоком и не потокобезопасен.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private long dbNanos;
+    private int queries;
+    private long aggregationNanos;
+    private long viewNanos;
+    private int aggregationDepth;
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Начинает замер для текущего потока.
+     *
+     * @return замер текущего запроса
+     */
+    public static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Завершает замер для текущего потока.
+     */
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Учитывает выполненный SQL-запрос или пакет запросов.
+     *
+     * @param nanos время выполнения в наносекундах
+     */
+    public static void recordQuery(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.dbNanos += nanos;
+            timings.queries++;
+        }
+    }
+
+    /**
+     * Учитывает время формирования страницы или ее фрагмента.
+     *
+     * @param nanos время формирования в наносекундах
+     */
+    public static void recordView(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.viewNanos += nanos;
+        }
+    }
+
+    /**
+     * Выполняет построение отчета и учитывает его время без времени SQL-запросов.
+     * Вложенные вызовы учитываются один раз, во внешнем вызове.
+     *
+     * @param action построение отчета
+     * @param <T> тип результата
+     * @return результат построения
+     */
+    public static <T> T measureAggregation(Supplier<T> action) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return action.get();
+        }
+        long started = System.nanoTime();
+        long dbBefore = timings.dbNanos;
+        timings.aggregationDepth++;
+        try {
+            return action.get();
+        } finally {
+            if (--timings.aggregationDepth == 0) {
+                timings.aggregationNanos += System.nanoTime() - started - (timings.dbNanos - dbBefore);
+            }
+        }
+    }
+
+    /**
+     * Возвращает время от начала замера.
+     *
+     * @return время в наносекундах
+     */
+    public long getTotalNanos() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /** Возвращает время выполнения SQL-запросов в наносекундах. */
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    /** Возвращает количество выполненных SQL-запросов и пакетов. */
+    public int getQueries() {
+        return queries;
+    }
+
+    /** Возвращает время построения отчетов без учета SQL-запросов в наносекундах. */
+    public long getAggregationNanos() {
+        return aggregationNanos;
+    }
+
+    /** Возвращает время формирования страниц и фрагментов в наносекундах. */
+    public long getViewNanos() {
+        return viewNanos;
+    }
+}
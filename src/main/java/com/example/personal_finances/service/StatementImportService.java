@@ -0,0 +1,357 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.dto.ImportResult;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Сервис загрузки банковских выписок в форматах CSV и OFX.
+ *
+ * Файл читается потоково: в памяти одновременно находится не более одной строки
+ * (для OFX — одного значения тега) и одной порции транзакций, поэтому расход памяти
+ * не зависит от размера выписки. Транзакции сохраняются порциями через
+ * {@link TransactionService#importTransactions(List)}.
+ */
+@Service
+public class StatementImportService {
+
+    /** Количество транзакций, сохраняемых в одной транзакции базы данных. */
+    public static final int CHUNK_SIZE = 1000;
+
+    private static final int SNIFF_LENGTH = 512;
+    private static final int MAX_OFX_VALUE_LENGTH = 1024;
+    private static final char BOM = '\uFEFF';
+
+    private static final List<DateTimeFormatter> CSV_DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd.MM.yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"));
+    private static final DateTimeFormatter OFX_DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final TransactionService transactionService;
+    private final CategoryService categoryService;
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param transactionService сервис транзакций
+     * @param categoryService сервис категорий
+     */
+    public StatementImportService(TransactionService transactionService, CategoryService categoryService) {
+        this.transactionService = transactionService;
+        this.categoryService = categoryService;
+    }
+
+    /**
+     * Загружает выписку. Формат определяется по содержимому: файлы с заголовком
+     * OFXHEADER или тегом OFX разбираются как OFX, остальные — как CSV.
+     *
+     * Категория строки CSV ищется по названию среди категорий пользователя;
+     * если колонки категории нет или категория не найдена, используется категория по умолчанию.
+     * Строки без категории, с некорректной датой, суммой или пустым названием отклоняются,
+     * как и строки, которые не поместились бы в колонки таблицы: название длиннее
+     * {@link Transaction#NAME_MAX_LENGTH} символов или сумма, не помещающаяся в NUMERIC(10, 2).
+     * Такие строки проверяются до сохранения, чтобы ошибка базы данных не прервала загрузку
+     * после того, как предыдущие порции уже сохранены.
+     *
+     * @param input содержимое выписки в кодировке UTF-8
+     * @param user пользователь, для которого загружается выписка
+     * @param defaultCategory категория по умолчанию (может быть null)
+     * @return суммарный результат загрузки
+     * @throws IOException если выписку не удалось прочитать
+     */
+    public ImportResult importStatement(InputStream input, User user, Category defaultCategory) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportSink sink = new ImportSink(user, defaultCategory);
+        if (isOfx(reader)) {
+            readOfx(reader, sink);
+        } else {
+            readCsv(reader, sink);
+        }
+        return sink.finish();
+    }
+
+    /**
+     * Определяет формат по началу файла, не сдвигая позицию чтения (кроме метки порядка байтов).
+     */
+    private boolean isOfx(BufferedReader reader) throws IOException {
+        reader.mark(SNIFF_LENGTH);
+        char[] head = new char[SNIFF_LENGTH];
+        int length = reader.read(head, 0, SNIFF_LENGTH);
+        reader.reset();
+        if (length <= 0) {
+            return false;
+        }
+        if (head[0] == BOM) {
+            reader.skip(1);
+        }
+        String start = new String(head, 0, length).toUpperCase(Locale.ROOT);
+        return start.contains("OFXHEADER") || start.contains("<OFX>");
+    }
+
+    /**
+     * Разбирает CSV построчно. Разделитель (точка с запятой, табуляция или запятая)
+     * определяется по первой строке. Если первая строка — заголовок, колонки
+     * сопоставляются по названиям, иначе используется порядок: дата, название, сумма, категория.
+     */
+    private void readCsv(BufferedReader reader, ImportSink sink) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return;
+        }
+        char delimiter = detectDelimiter(line);
+        int[] columns = {0, 1, 2, 3};
+        List<String> first = splitCsvLine(line, delimiter);
+        if (mapHeader(first, columns)) {
+            line = reader.readLine();
+        }
+
+        for (; line != null; line = reader.readLine()) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsvLine(line, delimiter);
+            String categoryName = field(fields, columns[3]);
+            sink.accept(parseCsvDate(field(fields, columns[0])),
+                    field(fields, columns[1]),
+                    AmountParser.parse(field(fields, columns[2])),
+                    categoryName == null || categoryName.isEmpty() ? null : categoryName,
+                    false);
+        }
+    }
+
+    /**
+     * Разбирает OFX (SGML или XML) посимвольно, собирая поля блоков STMTTRN.
+     * Знак суммы TRNAMT должен соответствовать типу категории по умолчанию.
+     */
+    private void readOfx(Reader reader, ImportSink sink) throws IOException {
+        StringBuilder token = new StringBuilder();
+        String tag = null;
+        Map<String, String> record = null;
+
+        int c = reader.read();
+        while (c != -1) {
+            if (c == '<') {
+                token.setLength(0);
+                for (c = reader.read(); c != -1 && c != '>'; c = reader.read()) {
+                    if (token.length() < MAX_OFX_VALUE_LENGTH) {
+                        token.append((char) c);
+                    }
+                }
+                tag = token.toString().trim().toUpperCase(Locale.ROOT);
+                if (tag.equals("STMTTRN")) {
+                    record = new HashMap<>();
+                } else if (tag.equals("/STMTTRN") && record != null) {
+                    String name = record.getOrDefault("NAME", "");
+                    sink.accept(parseOfxDate(record.get("DTPOSTED")),
+                            name.isEmpty() ? record.get("MEMO") : name,
+                            AmountParser.parse(record.get("TRNAMT")),
+                            null,
+                            true);
+                    record = null;
+                }
+                c = reader.read();
+            } else {
+                token.setLength(0);
+                for (; c != -1 && c != '<'; c = reader.read()) {
+                    if (token.length() < MAX_OFX_VALUE_LENGTH) {
+                        token.append((char) c);
+                    }
+                }
+                String value = token.toString().trim();
+                if (record != null && tag != null && !tag.startsWith("/") && !value.isEmpty()) {
+                    record.put(tag, unescapeOfx(value));
+                }
+            }
+        }
+    }
+
+    private static char detectDelimiter(String line) {
+        char best = ';';
+        long bestCount = 0;
+        for (char candidate : new char[] {';', '\t', ','}) {
+            long count = line.chars().filter(ch -> ch == candidate).count();
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Сопоставляет колонки по заголовку. Возвращает false, если в строке не найдены колонки
+     * даты, названия и суммы: такая строка разбирается как строка данных.
+     */
+    private static boolean mapHeader(List<String> header, int[] columns) {
+        if (parseCsvDate(field(header, 0)) != null) {
+            return false;
+        }
+        int[] mapped = {-1, -1, -1, -1};
+        for (int i = 0; i < header.size(); i++) {
+            String title = header.get(i).toLowerCase(Locale.ROOT);
+            if (title.contains("дата") || title.contains("date")) {
+                mapped[0] = mapped[0] < 0 ? i : mapped[0];
+            } else if (title.contains("сумма") || title.contains("amount")) {
+                mapped[2] = mapped[2] < 0 ? i : mapped[2];
+            } else if (title.contains("категор") || title.contains("category")) {
+                mapped[3] = mapped[3] < 0 ? i : mapped[3];
+            } else if (title.contains("назв") || title.contains("наимен") || title.contains("описан")
+                    || title.contains("name") || title.contains("description")) {
+                mapped[1] = mapped[1] < 0 ? i : mapped[1];
+            }
+        }
+        if (mapped[0] < 0 || mapped[1] < 0 || mapped[2] < 0) {
+            return false;
+        }
+        System.arraycopy(mapped, 0, columns, 0, columns.length);
+        return true;
+    }
+
+    /**
+     * Делит строку CSV на поля с учетом кавычек и удвоенных кавычек внутри поля.
+     */
+    private static List<String> splitCsvLine(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static LocalDate parseCsvDate(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        for (DateTimeFormatter format : CSV_DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException e) {
+                // пробуем следующий формат
+            }
+        }
+        return null;
+    }
+
+    private static LocalDate parseOfxDate(String value) {
+        if (value == null || value.length() < 8) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.substring(0, 8), OFX_DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String unescapeOfx(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+    }
+
+    /**
+     * Накопитель транзакций одной загрузки: сопоставляет категории, проверяет строки
+     * и сохраняет их порциями по {@link #CHUNK_SIZE}.
+     */
+    private final class ImportSink {
+
+        private final User user;
+        private final Category defaultCategory;
+        private final Map<String, Optional<Category>> categoriesByName = new HashMap<>();
+        private final long started = System.nanoTime();
+        private List<Transaction> chunk = new ArrayList<>(CHUNK_SIZE);
+        private int imported;
+        private int rejected;
+
+        ImportSink(User user, Category defaultCategory) {
+            this.user = user;
+            this.defaultCategory = defaultCategory;
+        }
+
+        void accept(LocalDate date, String name, BigDecimal amount, String categoryName, boolean signed) {
+            Category category = categoryName == null ? defaultCategory
+                    : categoriesByName.computeIfAbsent(categoryName,
+                            key -> Optional.ofNullable(categoryService.findByNameAndUser(key, user)))
+                    .orElse(defaultCategory);
+            String trimmedName = name == null ? "" : name.trim();
+            if (category == null || date == null || amount == null || trimmedName.isEmpty()
+                    || trimmedName.length() > Transaction.NAME_MAX_LENGTH
+                    || !AmountParser.fitsStoredPrecision(amount)
+                    || !matchesType(amount, category, signed)) {
+                rejected++;
+                return;
+            }
+            Transaction transaction = new Transaction(category, date, amount.abs());
+            transaction.setName(trimmedName);
+            chunk.add(transaction);
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        /**
+         * Отрицательная сумма не может быть доходом. Для OFX, где знак обязателен,
+         * положительная сумма также не может быть расходом.
+         */
+        private boolean matchesType(BigDecimal amount, Category category, boolean signed) {
+            if (amount.signum() < 0) {
+                return !"INCOME".equals(category.getType());
+            }
+            return !signed || amount.signum() == 0 || !"EXPENSE".equals(category.getType());
+        }
+
+        private void flush() {
+            if (!chunk.isEmpty()) {
+                imported += transactionService.importTransactions(chunk).imported();
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+
+        ImportResult finish() {
+            flush();
+            return ImportResult.of(imported, rejected, System.nanoTime() - started);
+        }
+    }
+}
@@ -0,0 +1,444 @@
+package com.example.personal_finances.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор синтетических данных для нагрузочного тестирования.
+ *
+ * Создает пользователей, их категории и транзакции и загружает их в PostgreSQL
+ * командой COPY, минуя Hibernate, поэтому десятки миллионов строк загружаются за минуты.
+ * Данные полностью определяются зерном: при одинаковых параметрах генерируются
+ * одинаковые имена, категории, даты и суммы (идентификаторы зависят от состояния последовательностей).
+ *
+ * Распределения приближены к реальным: количество транзакций у пользователей
+ * распределено логнормально, частота категорий убывает по закону Ципфа,
+ * доходы составляют около десятой части транзакций, а суммы доходов и расходов
+ * распределены логнормально с разными медианами.
+ */
+@Service
+@Profile("generate-data")
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] EXPENSE_NAMES = {
+            "Продукты", "Транспорт", "Кафе и рестораны", "Коммунальные услуги", "Связь", "Одежда", "Здоровье",
+            "Развлечения", "Подарки", "Образование", "Путешествия", "Дом", "Спорт", "Домашние животные", "Красота"
+    };
+
+    private static final String[] INCOME_NAMES = {
+            "Зарплата", "Премия", "Подработка", "Проценты по вкладу", "Кэшбэк", "Подарки"
+    };
+
+    /** Доля доходов среди транзакций. */
+    private static final double INCOME_SHARE = 0.1;
+
+    /** Медианы сумм расходов и доходов в копейках и разброс логарифма суммы. */
+    private static final double EXPENSE_MEDIAN_CENTS = 80_000;
+    private static final double EXPENSE_SIGMA = 1.1;
+    private static final double INCOME_MEDIAN_CENTS = 6_000_000;
+    private static final double INCOME_SIGMA = 0.6;
+
+    /** Наибольшая сумма, которую допускает столбец NUMERIC(10, 2). */
+    private static final long MAX_AMOUNT_CENTS = 9_999_999_999L;
+
+    /** Размер буфера, после заполнения которого данные передаются в COPY. */
+    private static final int COPY_BUFFER_CHARS = 1 << 20;
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final CategoryMonthlyTotalService monthlyTotalService;
+
+    /**
+     * Параметры генерации.
+     *
+     * @param seed зерно генератора случайных чисел
+     * @param users количество пользователей
+     * @param transactions общее количество транзакций
+     * @param startDate первая дата транзакций
+     * @param endDate последняя дата транзакций
+     * @param usernamePrefix префикс имен пользователей
+     * @param password пароль всех создаваемых пользователей
+     */
+    public record Settings(long seed, int users, long transactions, LocalDate startDate, LocalDate endDate,
+                           String usernamePrefix, String password) {
+    }
+
+    /**
+     * Количество загруженных строк.
+     *
+     * @param users пользователей
+     * @param categories категорий
+     * @param transactions транзакций
+     * @param monthlyTotals строк помесячных итогов
+     * @param elapsedMillis время загрузки в миллисекундах
+     */
+    public record Result(int users, int categories, long transactions, int monthlyTotals, long elapsedMillis) {
+    }
+
+    /**
+     * Категории одного пользователя: идентификаторы и накопленные веса выбора по типам.
+     */
+    private record UserCategories(long[] incomeIds, String[] incomeNames, double[] incomeWeights,
+                                  long[] expenseIds, String[] expenseNames, double[] expenseWeights) {
+    }
+
+    /**
+     * Конструктор для внедрения зависимостей.
+     *
+     * @param dataSource источник соединений с базой PostgreSQL
+     * @param passwordEncoder кодировщик паролей пользователей
+     * @param monthlyTotalService сервис помесячных итогов, пересчитываемых после загрузки
+     */
+    public SyntheticDataGenerator(DataSource dataSource, PasswordEncoder passwordEncoder,
+                                  CategoryMonthlyTotalService monthlyTotalService) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.monthlyTotalService = monthlyTotalService;
+    }
+
+    /**
+     * Генерирует и загружает данные в одной транзакции базы, затем пересчитывает помесячные итоги.
+     *
+     * @param settings параметры генерации
+     * @return количество загруженных строк
+     * @throws SQLException если загрузка не удалась
+     * @throws IllegalStateException если база данных не PostgreSQL
+     */
+    public Result generate(Settings settings) throws SQLException {
+        long startedAt = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        long[] transactionCounts = distributeTransactions(random.split(), settings.users(), settings.transactions());
+        int days = (int) ChronoUnit.DAYS.between(settings.startDate(), settings.endDate()) + 1;
+        int categories = 0;
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                throw new IllegalStateException("Генерация данных поддерживается только для PostgreSQL.");
+            }
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            connection.setAutoCommit(false);
+            try {
+                IdAllocator userIds = IdAllocator.reserve(connection, "users", settings.users());
+                long[] users = new long[settings.users()];
+                CopyWriter userCopy = new CopyWriter(pgConnection,
+                        "COPY users (id, username, email, password) FROM STDIN");
+                String passwordHash = passwordEncoder.encode(settings.password());
+                for (int i = 0; i < users.length; i++) {
+                    users[i] = userIds.next();
+                    String username = settings.usernamePrefix() + "-" + settings.seed() + "-" + i;
+                    userCopy.row(users[i], username, username + "@example.com", passwordHash);
+                }
+                userCopy.finish();
+
+                // Категории выбираются заранее, чтобы зарезервировать идентификаторы одним запросом.
+                SplittableRandom categoryRandom = random.split();
+                int[][] chosen = new int[users.length][];
+                for (int i = 0; i < users.length; i++) {
+                    chosen[i] = chooseCategories(categoryRandom);
+                    categories += chosen[i].length;
+                }
+                IdAllocator categoryIds = IdAllocator.reserve(connection, "categories", categories);
+                UserCategories[] userCategories = new UserCategories[users.length];
+                CopyWriter categoryCopy = new CopyWriter(pgConnection,
+                        "COPY categories (id, name, type, user_id) FROM STDIN");
+                for (int i = 0; i < users.length; i++) {
+                    userCategories[i] = writeCategories(categoryCopy, categoryIds, users[i], chosen[i]);
+                }
+                categoryCopy.finish();
+                log.info("Загружено {} пользователей и {} категорий.", users.length, categories);
+
+                IdAllocator transactionIds = IdAllocator.reserve(connection, "transactions", settings.transactions());
+                CopyWriter transactionCopy = new CopyWriter(pgConnection,
+                        "COPY transactions (id, name, date, amount, category_id) FROM STDIN");
+                long written = 0;
+                long reportEvery = Math.max(settings.transactions() / 10, 1);
+                SplittableRandom transactionRandom = random.split();
+                for (int i = 0; i < users.length; i++) {
+                    SplittableRandom userRandom = transactionRandom.split();
+                    for (long n = 0; n < transactionCounts[i]; n++) {
+                        writeTransaction(transactionCopy, transactionIds.next(), userCategories[i], userRandom,
+                                settings.startDate(), days);
+                        if (++written % reportEvery == 0) {
+                            log.info("Загружено {} из {} транзакций.", written, settings.transactions());
+                        }
+                    }
+                }
+                transactionCopy.finish();
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+
+        int monthlyTotals = monthlyTotalService.rebuild();
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        return new Result(settings.users(), categories, settings.transactions(), monthlyTotals, elapsedMillis);
+    }
+
+    /**
+     * Распределяет транзакции между пользователями пропорционально логнормальным весам.
+     */
+    private static long[] distributeTransactions(SplittableRandom random, int users, long transactions) {
+        double[] weights = new double[users];
+        double sum = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = Math.exp(random.nextGaussian());
+            sum += weights[i];
+        }
+        long[] counts = new long[users];
+        long assigned = 0;
+        for (int i = 0; i < users; i++) {
+            counts[i] = (long) (transactions * weights[i] / sum);
+            assigned += counts[i];
+        }
+        for (int i = 0; assigned < transactions; i = (i + 1) % users) {
+            counts[i]++;
+            assigned++;
+        }
+        return counts;
+    }
+
+    /**
+     * Выбирает категории пользователя: от 1 до 3 доходов и от 3 до 11 расходов.
+     * Положительные значения — индексы в {@link #INCOME_NAMES}, отрицательные — в {@link #EXPENSE_NAMES}
+     * (индекс i кодируется как -(i + 1)).
+     */
+    private static int[] chooseCategories(SplittableRandom random) {
+        int incomes = 1 + random.nextInt(3);
+        int expenses = 3 + random.nextInt(9);
+        int[] chosen = new int[incomes + expenses];
+        int[] incomeOrder = shuffledIndexes(random, INCOME_NAMES.length);
+        int[] expenseOrder = shuffledIndexes(random, EXPENSE_NAMES.length);
+        for (int i = 0; i < incomes; i++) {
+            chosen[i] = incomeOrder[i];
+        }
+        for (int i = 0; i < expenses; i++) {
+            chosen[incomes + i] = -(expenseOrder[i] + 1);
+        }
+        return chosen;
+    }
+
+    private static int[] shuffledIndexes(SplittableRandom random, int length) {
+        int[] indexes = new int[length];
+        for (int i = 0; i < length; i++) {
+            indexes[i] = i;
+        }
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    /**
+     * Записывает категории пользователя и вычисляет накопленные веса выбора по закону Ципфа.
+     */
+    private static UserCategories writeCategories(CopyWriter copy, IdAllocator ids, long userId, int[] chosen)
+            throws SQLException {
+        List<Long> incomeIds = new ArrayList<>();
+        List<String> incomeNames = new ArrayList<>();
+        List<Long> expenseIds = new ArrayList<>();
+        List<String> expenseNames = new ArrayList<>();
+        for (int index : chosen) {
+            long id = ids.next();
+            boolean income = index >= 0;
+            String name = income ? INCOME_NAMES[index] : EXPENSE_NAMES[-index - 1];
+            copy.row(id, name, income ? "INCOME" : "EXPENSE", userId);
+            (income ? incomeIds : expenseIds).add(id);
+            (income ? incomeNames : expenseNames).add(name);
+        }
+        return new UserCategories(
+                incomeIds.stream().mapToLong(Long::longValue).toArray(), incomeNames.toArray(String[]::new),
+                zipfCumulative(incomeIds.size()),
+                expenseIds.stream().mapToLong(Long::longValue).toArray(), expenseNames.toArray(String[]::new),
+                zipfCumulative(expenseIds.size()));
+    }
+
+    private static double[] zipfCumulative(int size) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Записывает одну транзакцию пользователя.
+     */
+    private static void writeTransaction(CopyWriter copy, long id, UserCategories categories,
+                                         SplittableRandom random, LocalDate startDate, int days) throws SQLException {
+        boolean income = random.nextDouble() < INCOME_SHARE;
+        long[] ids = income ? categories.incomeIds() : categories.expenseIds();
+        String[] names = income ? categories.incomeNames() : categories.expenseNames();
+        double[] weights = income ? categories.incomeWeights() : categories.expenseWeights();
+
+        double point = random.nextDouble();
+        int category = 0;
+        while (category < weights.length - 1 && weights[category] < point) {
+            category++;
+        }
+
+        double median = income ? INCOME_MEDIAN_CENTS : EXPENSE_MEDIAN_CENTS;
+        double sigma = income ? INCOME_SIGMA : EXPENSE_SIGMA;
+        long cents = Math.max(1, Math.min(MAX_AMOUNT_CENTS, Math.round(median * Math.exp(sigma * random.nextGaussian()))));
+
+        LocalDate date = startDate.plusDays(random.nextInt(days));
+        copy.transactionRow(id, names[category], date, cents, ids[category]);
+    }
+
+    /**
+     * Выдает идентификаторы из блоков, зарезервированных в последовательности таблицы.
+     *
+     * Каждый вызов nextval резервирует блок из шага последовательности значений,
+     * заканчивающийся полученным значением, — так же, как оптимизатор pooled в Hibernate.
+     * Поэтому зарезервированные идентификаторы не пересекаются с идентификаторами,
+     * которые приложение выделит позже или выделяет одновременно с загрузкой.
+     */
+    private static final class IdAllocator {
+
+        private final long[] blockEnds;
+        private final long increment;
+        private int block;
+        private long nextId;
+
+        private IdAllocator(long[] blockEnds, long increment) {
+            this.blockEnds = blockEnds;
+            this.increment = increment;
+            this.block = -1;
+            this.nextId = Long.MAX_VALUE;
+        }
+
+        /**
+         * Резервирует идентификаторы для указанного количества строк таблицы.
+         */
+        static IdAllocator reserve(Connection connection, String table, long count) throws SQLException {
+            long increment;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT seqincrement FROM pg_sequence WHERE seqrelid = pg_get_serial_sequence(?, 'id')::regclass")) {
+                statement.setString(1, table);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    increment = resultSet.getLong(1);
+                }
+            }
+            // Первый блок новой последовательности начинается с 1 и может быть короче шага.
+            int blocks = (int) ((count + increment - 1) / increment) + 1;
+            long[] blockEnds = new long[blocks];
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)")) {
+                statement.setString(1, table);
+                statement.setInt(2, blocks);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    for (int i = 0; resultSet.next(); i++) {
+                        blockEnds[i] = resultSet.getLong(1);
+                    }
+                }
+            }
+            return new IdAllocator(blockEnds, increment);
+        }
+
+        long next() {
+            while (block < 0 || nextId > blockEnds[block]) {
+                block++;
+                if (block >= blockEnds.length) {
+                    throw new IllegalStateException("Зарезервированные идентификаторы закончились.");
+                }
+                nextId = Math.max(1, blockEnds[block] - increment + 1);
+            }
+            return nextId++;
+        }
+    }
+
+    /**
+     * Буферизованная запись строк в COPY в текстовом формате PostgreSQL.
+     * Значения не экранируются: генератор не создает строк с табуляцией, переводом строки или обратной косой чертой.
+     */
+    private static final class CopyWriter {
+
+        private final CopyIn copyIn;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+        CopyWriter(PGConnection connection, String sql) throws SQLException {
+            this.copyIn = connection.getCopyAPI().copyIn(sql);
+        }
+
+        void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                buffer.append(values[i]);
+            }
+            endRow();
+        }
+
+        void transactionRow(long id, String name, LocalDate date, long cents, long categoryId) throws SQLException {
+            buffer.append(id).append('\t').append(name).append('\t');
+            appendDate(date);
+            buffer.append('\t').append(cents / 100).append('.');
+            long fraction = cents % 100;
+            if (fraction < 10) {
+                buffer.append('0');
+            }
+            buffer.append(fraction).append('\t').append(categoryId);
+            endRow();
+        }
+
+        long finish() throws SQLException {
+            flush();
+            return copyIn.endCopy();
+        }
+
+        private void appendDate(LocalDate date) {
+            buffer.append(date.getYear()).append('-');
+            if (date.getMonthValue() < 10) {
+                buffer.append('0');
+            }
+            buffer.append(date.getMonthValue()).append('-');
+            if (date.getDayOfMonth() < 10) {
+                buffer.append('0');
+            }
+            buffer.append(date.getDayOfMonth());
+        }
+
+        private void endRow() throws SQLException {
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+}
@@ -1,38 +1,88 @@
 package com.example.personal_finances.service;
 
+import com.example.personal_finances.dto.CategoryPeriodTotal;
+import com.example.personal_finances.dto.DailyTotal;
+import com.example.personal_finances.dto.ImportResult;
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.dto.PeriodTotal;
+import com.example.personal_finances.dto.ReportGranularity;
+import com.example.personal_finances.dto.TransactionExportRow;
+import com.example.personal_finances.dto.TransactionPage;
+import com.example.personal_finances.dto.TransactionView;
 import com.example.personal_finances.model.Category;
 import com.example.personal_finances.model.Transaction;
 import com.example.personal_finances.model.User;
 import com.example.personal_finances.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Сервис для работы с транзакциями.
  *
  * Этот класс предоставляет методы для выполнения операций
  * с транзакциями, включая создание, обновление, удаление и поиск.
+ *
+ * Время выполнения публичных методов записывается в метрику finances.service с тегами class и method.
  */
 @Service
+@Timed("finances.service")
 public class TransactionService {
 
+    /** Максимальный размер страницы списка транзакций. */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /** Количество транзакций, после которого пакетная загрузка сбрасывает изменения в базу. */
+    public static final int IMPORT_BATCH_SIZE = 50;
+
+    /** Граница, подставляемая вместо незаданного начала диапазона дат. */
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    /** Граница, подставляемая вместо незаданного конца диапазона дат. */
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
     private final TransactionRepository transactionRepository;
+    private final CategoryMonthlyTotalService monthlyTotalService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AnalyticsStore analyticsStore;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
-     * Конструктор для внедрения зависимости репозитория транзакций.
+     * Конструктор для внедрения зависимостей репозитория транзакций и сервиса помесячных итогов.
      *
      * @param transactionRepository репозиторий транзакций
+     * @param monthlyTotalService сервис помесячных итогов
+     * @param eventPublisher публикатор событий об изменении транзакций
+     * @param analyticsStore колоночное хранилище для аналитического режима
      */
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository) {
+    public TransactionService(TransactionRepository transactionRepository, CategoryMonthlyTotalService monthlyTotalService,
+                              ApplicationEventPublisher eventPublisher, AnalyticsStore analyticsStore) {
         this.transactionRepository = transactionRepository;
+        this.monthlyTotalService = monthlyTotalService;
+        this.eventPublisher = eventPublisher;
+        this.analyticsStore = analyticsStore;
     }
 
     /**
@@ -40,6 +90,7 @@ public class TransactionService {
      *
      * @return список всех транзакций
      */
+    @Transactional(readOnly = true)
     public List<Transaction> findAll() {
         return transactionRepository.findAll();
     }
@@ -52,6 +103,7 @@ public class TransactionService {
      * @param sort параметры сортировки
      * @return список транзакций, удовлетворяющих условиям
      */
+    @Transactional(readOnly = true)
     public List<Transaction> findByDateRange(LocalDate startDate, LocalDate endDate, Sort sort) {
         return transactionRepository.findByDateBetween(startDate, endDate, sort);
     }
@@ -62,6 +114,7 @@ public class TransactionService {
      * @param category категория, по которой производится поиск
      * @return список транзакций, относящихся к данной категории
      */
+    @Transactional(readOnly = true)
     public List<Transaction> findByCategory(Category category) {
         return transactionRepository.findByCategory_Id(category.getId());
     }
@@ -73,6 +126,7 @@ public class TransactionService {
      * @param sort параметры сортировки
      * @return список транзакций, принадлежащих указанному пользователю
      */
+    @Transactional(readOnly = true)
     public List<Transaction> findByCategory_User(User user, Sort sort) {
         return transactionRepository.findByCategory_User(user, sort);
     }
@@ -86,10 +140,250 @@ public class TransactionService {
      * @param sort параметры сортировки
      * @return список транзакций, удовлетворяющих условиям
      */
+    @Transactional(readOnly = true)
     public List<Transaction> findByDateBetweenAndCategory_User(LocalDate startDate, LocalDate endDate, User user, Sort sort) {
         return transactionRepository.findByDateBetweenAndCategory_User(startDate, endDate, user, sort);
     }
 
+    /**
+     * Формирование помесячного отчета по категории пользователя.
+     * Для виртуальных категорий «Все доходы» и «Все расходы» суммируются
+     * все категории пользователя соответствующего типа.
+     * Полные месяцы читаются из таблицы помесячных итогов, а неполные месяцы
+     * на границах диапазона досчитываются по транзакциям, поэтому время ответа
+     * не зависит от длины истории пользователя.
+     * В аналитическом режиме отчет строится по {@link AnalyticsStore} без запросов к базе данных.
+     *
+     * @param categoryId идентификатор категории
+     * @param user пользователь, которому принадлежит категория
+     * @param startDate начальная дата диапазона или null, если диапазон не ограничен снизу
+     * @param endDate конечная дата диапазона или null, если диапазон не ограничен сверху
+     * @return помесячные суммы, упорядоченные по возрастанию месяца
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyTotal> getMonthlyReport(Long categoryId, User user, LocalDate startDate, LocalDate endDate) {
+        if (analyticsStore.isEnabled()) {
+            return analyticsStore.getMonthlyReport(categoryId, user, startDate, endDate);
+        }
+
+        boolean virtual = CategoryService.isVirtualCategory(categoryId);
+        String type = virtual ? CategoryService.getVirtualCategoryType(categoryId) : null;
+
+        if (startDate == null && endDate == null) {
+            return virtual
+                    ? monthlyTotalService.findMonthlyTotalsByType(type, user)
+                    : monthlyTotalService.findMonthlyTotals(categoryId, user);
+        }
+        startDate = orMinDate(startDate);
+        endDate = orMaxDate(endDate);
+
+        BiFunction<LocalDate, LocalDate, List<MonthlyTotal>> fromTransactions = virtual
+                ? (from, to) -> transactionRepository.sumMonthlyByTypeAndDateBetween(type, user, from, to)
+                : (from, to) -> transactionRepository.sumMonthlyByCategoryAndDateBetween(categoryId, user, from, to);
+        BiFunction<LocalDate, LocalDate, List<MonthlyTotal>> fromTotals = virtual
+                ? (from, to) -> monthlyTotalService.findMonthlyTotalsByType(type, user, from, to)
+                : (from, to) -> monthlyTotalService.findMonthlyTotals(categoryId, user, from, to);
+
+        YearMonth firstMonth = YearMonth.from(startDate);
+        YearMonth lastMonth = YearMonth.from(endDate);
+        YearMonth firstFullMonth = startDate.getDayOfMonth() == 1 ? firstMonth : firstMonth.plusMonths(1);
+        YearMonth lastFullMonth = endDate.equals(lastMonth.atEndOfMonth()) ? lastMonth : lastMonth.minusMonths(1);
+
+        if (firstFullMonth.isAfter(lastFullMonth)) {
+            return fromTransactions.apply(startDate, endDate);
+        }
+
+        MonthlyAggregator report = new MonthlyAggregator();
+        if (firstFullMonth.isAfter(firstMonth)) {
+            report.addAll(fromTransactions.apply(startDate, firstMonth.atEndOfMonth()));
+        }
+        report.addAll(fromTotals.apply(firstFullMonth.atDay(1), lastFullMonth.atDay(1)));
+        if (lastFullMonth.isBefore(lastMonth)) {
+            report.addAll(fromTransactions.apply(lastMonth.atDay(1), endDate));
+        }
+        return report.toList();
+    }
+
+    /**
+     * Формирование отчета по категории пользователя с группировкой по периодам.
+     * Отчеты по месяцам, кварталам и годам собираются из помесячного отчета
+     * {@link #getMonthlyReport(Long, User, LocalDate, LocalDate)}, поэтому многолетний отчет
+     * по годам читает помесячные итоги, а не транзакции. Отчеты по дням и неделям
+     * строятся по суммам за дни, сгруппированным на стороне базы данных.
+     * Время построения без учета запросов учитывается в {@link RequestTimings}.
+     *
+     * @param categoryId идентификатор категории (в том числе виртуальной)
+     * @param user пользователь, которому принадлежит категория
+     * @param startDate начальная дата диапазона или null, если диапазон не ограничен снизу
+     * @param endDate конечная дата диапазона или null, если диапазон не ограничен сверху
+     * @param granularity шаг группировки
+     * @return суммы по периодам, упорядоченные по возрастанию начала периода
+     */
+    @Transactional(readOnly = true)
+    public List<PeriodTotal> getReport(Long categoryId, User user, LocalDate startDate, LocalDate endDate,
+                                       ReportGranularity granularity) {
+        return RequestTimings.measureAggregation(() -> {
+            Map<LocalDate, BigDecimal> totals = new LinkedHashMap<>();
+            if (granularity == ReportGranularity.DAY || granularity == ReportGranularity.WEEK) {
+                for (DailyTotal total : getDailyTotals(categoryId, user, startDate, endDate)) {
+                    totals.merge(granularity.periodStart(total.date()), total.total(), BigDecimal::add);
+                }
+            } else {
+                for (MonthlyTotal total : getMonthlyReport(categoryId, user, startDate, endDate)) {
+                    totals.merge(granularity.periodStart(total.yearMonth().atDay(1)), total.total(), BigDecimal::add);
+                }
+            }
+            return totals.entrySet().stream()
+                    .map(entry -> new PeriodTotal(entry.getKey(), entry.getValue()))
+                    .toList();
+        });
+    }
+
+    /**
+     * Формирование отчета с разбивкой по категориям: суммы каждой категории пользователя
+     * указанного типа по периодам. Все категории считаются одним сгруппированным запросом
+     * (по месяцам или, для отчетов по дням и неделям, по дням) вместо отдельного отчета
+     * на каждую категорию.
+     *
+     * @param type тип категорий ("INCOME" или "EXPENSE")
+     * @param user пользователь, которому принадлежат категории
+     * @param startDate начальная дата диапазона или null, если диапазон не ограничен снизу
+     * @param endDate конечная дата диапазона или null, если диапазон не ограничен сверху
+     * @param granularity шаг группировки
+     * @return суммы категорий по периодам, упорядоченные по названию категории и началу периода
+     */
+    @Transactional(readOnly = true)
+    public List<CategoryPeriodTotal> getBreakdownReport(String type, User user, LocalDate startDate, LocalDate endDate,
+                                                        ReportGranularity granularity) {
+        return RequestTimings.measureAggregation(() -> {
+            LocalDate from = orMinDate(startDate);
+            LocalDate to = orMaxDate(endDate);
+            List<CategoryPeriodTotal> rows;
+            if (analyticsStore.isEnabled()) {
+                rows = analyticsStore.getCategoryDailyTotals(type, user, startDate, endDate);
+            } else if (granularity == ReportGranularity.DAY || granularity == ReportGranularity.WEEK) {
+                rows = transactionRepository.sumDailyByCategoryOfType(type, user, from, to);
+            } else {
+                rows = transactionRepository.sumMonthlyByCategoryOfType(type, user, from, to);
+            }
+
+            Map<Long, String> names = new HashMap<>();
+            Map<Long, Map<LocalDate, BigDecimal>> totals = new HashMap<>();
+            for (CategoryPeriodTotal row : rows) {
+                names.put(row.categoryId(), row.categoryName());
+                totals.computeIfAbsent(row.categoryId(), id -> new TreeMap<>())
+                        .merge(granularity.periodStart(row.periodStart()), row.total(), BigDecimal::add);
+            }
+            return totals.keySet().stream()
+                    .sorted(Comparator.comparing((Long id) -> names.get(id)).thenComparing(id -> id))
+                    .flatMap(id -> totals.get(id).entrySet().stream()
+                            .map(entry -> new CategoryPeriodTotal(id, names.get(id), entry.getKey(), entry.getValue())))
+                    .toList();
+        });
+    }
+
+    /**
+     * Возвращает суммы транзакций категории (в том числе виртуальной) по дням.
+     */
+    private List<DailyTotal> getDailyTotals(Long categoryId, User user, LocalDate startDate, LocalDate endDate) {
+        if (analyticsStore.isEnabled()) {
+            return analyticsStore.getDailyTotals(categoryId, user, startDate, endDate);
+        }
+        LocalDate from = orMinDate(startDate);
+        LocalDate to = orMaxDate(endDate);
+        return CategoryService.isVirtualCategory(categoryId)
+                ? transactionRepository.sumDailyByTypeAndDateBetween(
+                        CategoryService.getVirtualCategoryType(categoryId), user, from, to)
+                : transactionRepository.sumDailyByCategoryAndDateBetween(categoryId, user, from, to);
+    }
+
+    /**
+     * Подставляет наименьшую дату вместо незаданного начала диапазона.
+     * Все отчеты и выборки по диапазону дат приводят границы через этот метод
+     * и {@link #orMaxDate(LocalDate)}, поэтому диапазон, ограниченный с одной стороны,
+     * понимается одинаково при любом шаге группировки.
+     */
+    private static LocalDate orMinDate(LocalDate date) {
+        return date != null ? date : MIN_DATE;
+    }
+
+    /**
+     * Подставляет наибольшую дату вместо незаданного конца диапазона.
+     */
+    private static LocalDate orMaxDate(LocalDate date) {
+        return date != null ? date : MAX_DATE;
+    }
+
+    /**
+     * Получение страницы транзакций пользователя с постраничной навигацией по ключу (дата, идентификатор).
+     * Каждая следующая страница начинается строго после последней транзакции предыдущей,
+     * поэтому стоимость запроса не зависит от номера страницы.
+     *
+     * @param user пользователь, которому принадлежат транзакции
+     * @param categoryId идентификатор категории (в том числе виртуальной) или null для всех категорий
+     * @param startDate начальная дата диапазона или null
+     * @param endDate конечная дата диапазона или null
+     * @param beforeDate дата последней транзакции предыдущей страницы или null для первой страницы
+     * @param beforeId идентификатор последней транзакции предыдущей страницы или null для первой страницы
+     * @param size размер страницы
+     * @return страница транзакций, упорядоченных по убыванию даты и идентификатора
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage findPage(User user, Long categoryId, LocalDate startDate, LocalDate endDate,
+                                    LocalDate beforeDate, Long beforeId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDate from = orMinDate(startDate);
+        LocalDate seekDate = beforeDate != null ? beforeDate : orMaxDate(endDate);
+        long seekId = beforeDate != null && beforeId != null ? beforeId : Long.MAX_VALUE;
+        if (beforeDate != null && endDate != null && endDate.isBefore(beforeDate)) {
+            seekDate = endDate;
+            seekId = Long.MAX_VALUE;
+        }
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TransactionView> items;
+        if (categoryId == null) {
+            items = transactionRepository.findPageByUser(user, from, seekDate, seekId, limit);
+        } else if (CategoryService.isVirtualCategory(categoryId)) {
+            items = transactionRepository.findPageByType(
+                    user, CategoryService.getVirtualCategoryType(categoryId), from, seekDate, seekId, limit);
+        } else {
+            items = transactionRepository.findPageByCategory(user, categoryId, from, seekDate, seekId, limit);
+        }
+
+        if (items.size() <= pageSize) {
+            return new TransactionPage(items, null, null);
+        }
+        List<TransactionView> page = items.subList(0, pageSize);
+        TransactionView last = page.get(pageSize - 1);
+        return new TransactionPage(page, last.date(), last.id());
+    }
+
+    /**
+     * Потоковая выгрузка транзакций пользователя.
+     * Строки передаются обработчику по мере чтения из курсора, поэтому расход памяти
+     * не зависит от количества транзакций.
+     *
+     * @param user пользователь, которому принадлежат транзакции
+     * @param startDate начальная дата диапазона (может быть null)
+     * @param endDate конечная дата диапазона (может быть null)
+     * @param consumer обработчик строк выгрузки
+     * @return количество выгруженных транзакций
+     */
+    @Transactional(readOnly = true)
+    public long exportTransactions(User user, LocalDate startDate, LocalDate endDate,
+                                   Consumer<TransactionExportRow> consumer) {
+        long count = 0;
+        try (Stream<TransactionExportRow> rows = transactionRepository.streamForExport(user,
+                orMinDate(startDate), orMaxDate(endDate))) {
+            for (TransactionExportRow row : (Iterable<TransactionExportRow>) rows::iterator) {
+                consumer.accept(row);
+                count++;
+            }
+        }
+        return count;
+    }
+
     /**
      * Сохранение новой транзакции.
      *
@@ -98,7 +392,7 @@ public class TransactionService {
      */
     @Transactional
     public Transaction save(Transaction transaction) {
-        return transactionRepository.save(transaction);
+        return saveAndUpdateTotals(transaction);
     }
 
     /**
@@ -109,7 +403,7 @@ public class TransactionService {
      */
     @Transactional
     public Transaction update(Transaction transaction) {
-        return transactionRepository.save(transaction);
+        return saveAndUpdateTotals(transaction);
     }
 
     /**
@@ -119,17 +413,53 @@ public class TransactionService {
      */
     @Transactional
     public void deleteById(Long id) {
-        transactionRepository.deleteById(id);
+        transactionRepository.findStateById(id).ifPresent(previous -> {
+            monthlyTotalService.subtract(previous);
+            transactionRepository.deleteById(id);
+            eventPublisher.publishEvent(new TransactionsChangedEvent.Builder().removed(previous).build());
+        });
+    }
+
+    /**
+     * Пакетное сохранение транзакций.
+     * Вставки группируются в JDBC-пакеты (hibernate.jdbc.batch_size), идентификаторы
+     * выделяются блоками из последовательности, а контекст персистентности очищается
+     * после каждого пакета, чтобы расход памяти не зависел от объема загрузки.
+     * Помесячные итоги обновляются один раз на каждую пару (категория, месяц).
+     *
+     * @param transactions новые транзакции с заполненными категориями
+     * @return результат загрузки
+     */
+    @Transactional
+    public ImportResult importTransactions(List<Transaction> transactions) {
+        long started = System.nanoTime();
+        for (int i = 0; i < transactions.size(); i++) {
+            entityManager.persist(transactions.get(i));
+            if ((i + 1) % IMPORT_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        monthlyTotalService.addAll(transactions);
+        TransactionsChangedEvent.Builder changes = new TransactionsChangedEvent.Builder();
+        transactions.forEach(changes::added);
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(changes.build());
+        }
+        return ImportResult.of(transactions.size(), 0, System.nanoTime() - started);
     }
 
     /**
      * Поиск транзакции по идентификатору.
      *
      * @param id идентификатор транзакции
-     * @return найденная транзакция или пустая опциональная оболочка, если не найдена
+     * @return найденная транзакция с загруженной категорией или пустая опциональная оболочка, если не найдена
      */
+    @Transactional(readOnly = true)
     public Optional<Transaction> findById(Long id) {
-        return transactionRepository.findById(id);
+        return transactionRepository.findWithCategoryById(id);
     }
 
     /**
@@ -147,6 +477,30 @@ public class TransactionService {
             throw new IllegalArgumentException("Категория должна существовать.");
         }
         Transaction transaction = new Transaction(category, date, amount);
-        return transactionRepository.save(transaction);
+        return saveAndUpdateTotals(transaction);
+    }
+
+    /**
+     * Сохраняет транзакцию и переносит ее сумму в помесячные итоги.
+     * Для уже существующей транзакции сначала исключается ее прежнее состояние,
+     * прочитанное из базы данных отдельным запросом: переданный объект может быть
+     * той же управляемой сущностью, что уже изменена в контексте персистентности.
+     * Изменение публикуется как {@link TransactionsChangedEvent}.
+     *
+     * @param transaction транзакция для сохранения
+     * @return сохраненная транзакция
+     */
+    private Transaction saveAndUpdateTotals(Transaction transaction) {
+        TransactionsChangedEvent.Builder changes = new TransactionsChangedEvent.Builder();
+        if (transaction.getId() != null) {
+            transactionRepository.findStateById(transaction.getId()).ifPresent(previous -> {
+                monthlyTotalService.subtract(previous);
+                changes.removed(previous);
+            });
+        }
+        Transaction saved = transactionRepository.save(transaction);
+        monthlyTotalService.add(saved);
+        eventPublisher.publishEvent(changes.added(saved).build());
+        return saved;
     }
 }
\ No newline at end of file
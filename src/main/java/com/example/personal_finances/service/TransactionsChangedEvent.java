@@ -0,0 +1,91 @@
+package com.example.personal_finances.service;
+
+import com.example.personal_finances.dto.TransactionState;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Событие об изменении транзакций, публикуемое {@link TransactionService} при каждой записи.
+ *
+ * Изменения передаются значениями, а не сущностями: к моменту обработки события
+ * сущности могут быть уже изменены или отсоединены от контекста персистентности.
+ * Слушатели, которым важна согласованность с базой данных, обрабатывают событие
+ * после фиксации транзакции.
+ *
+ * @param changes изменения сумм по дням и категориям
+ */
+public record TransactionsChangedEvent(List<Change> changes) {
+
+    /**
+     * Изменение суммы категории за день.
+     *
+     * @param userId идентификатор владельца категории
+     * @param categoryId идентификатор категории
+     * @param date день транзакции
+     * @param cents изменение суммы в копейках (отрицательное для удаленных транзакций)
+     * @param count изменение количества транзакций: 1 для добавленной, -1 для удаленной
+     */
+    public record Change(Long userId, Long categoryId, LocalDate date, long cents, int count) {
+    }
+
+    /**
+     * Возвращает идентификаторы пользователей, чьи транзакции изменились.
+     *
+     * @return множество идентификаторов пользователей
+     */
+    public Set<Long> userIds() {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (Change change : changes) {
+            if (change.userId() != null) {
+                userIds.add(change.userId());
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * Накопитель изменений одной записи.
+     */
+    static final class Builder {
+
+        private final List<Change> changes = new ArrayList<>();
+
+        /**
+         * Учитывает добавленную транзакцию.
+         */
+        Builder added(Transaction transaction) {
+            Category category = transaction.getCategory();
+            if (category != null && transaction.getDate() != null) {
+                Long userId = category.getUser() != null ? category.getUser().getId() : null;
+                changes.add(new Change(userId, category.getId(), transaction.getDate(),
+                        MonthlyAggregator.toCents(transaction.getAmount()), 1));
+            }
+            return this;
+        }
+
+        /**
+         * Учитывает удаленную транзакцию или прежнее состояние измененной.
+         */
+        Builder removed(TransactionState previous) {
+            if (previous.categoryId() != null && previous.date() != null) {
+                changes.add(new Change(previous.userId(), previous.categoryId(), previous.date(),
+                        -MonthlyAggregator.toCents(previous.amount()), -1));
+            }
+            return this;
+        }
+
+        boolean isEmpty() {
+            return changes.isEmpty();
+        }
+
+        TransactionsChangedEvent build() {
+            return new TransactionsChangedEvent(List.copyOf(changes));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.personal_finances.service;
 
 import com.example.personal_finances.model.User;
 import com.example.personal_finances.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,8 +19,11 @@ import java.util.Optional;
  *
  * Этот класс предоставляет методы для выполнения операций
  * с пользователями, включая регистрацию, обновление и поиск.
+ *
+ * Время регистрации и поиска пользователей учитывается в метрике finances.service.
  */
 @Service
+@Timed("finances.service")
 public class UserService {
 
     private final UserRepository userRepository;
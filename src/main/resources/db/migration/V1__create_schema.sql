@@ -0,0 +1,23 @@
+-- Базовая схема приложения.
+-- IF NOT EXISTS позволяет применить миграцию к базе, созданной до появления миграций.
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL UNIQUE,
+    email    VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    VARCHAR(255) NOT NULL,
+    type    VARCHAR(255) NOT NULL,
+    user_id BIGINT       NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    date        DATE         NOT NULL,
+    amount      NUMERIC(10, 2),
+    category_id BIGINT       NOT NULL REFERENCES categories (id)
+);
@@ -0,0 +1,16 @@
+-- Помесячные итоги транзакций по категориям.
+-- Поддерживаются TransactionService при каждом изменении транзакций;
+-- при необходимости пересчитываются запуском приложения с --finances.rollup.rebuild=true.
+CREATE TABLE IF NOT EXISTS category_monthly_totals (
+    category_id       BIGINT         NOT NULL REFERENCES categories (id) ON DELETE CASCADE,
+    period_start      DATE           NOT NULL,
+    total             NUMERIC(19, 2) NOT NULL,
+    transaction_count BIGINT         NOT NULL,
+    PRIMARY KEY (category_id, period_start)
+);
+
+INSERT INTO category_monthly_totals (category_id, period_start, total, transaction_count)
+SELECT t.category_id, CAST(date_trunc('month', t.date) AS DATE), COALESCE(SUM(t.amount), 0), COUNT(*)
+FROM transactions t
+WHERE NOT EXISTS (SELECT 1 FROM category_monthly_totals)
+GROUP BY t.category_id, CAST(date_trunc('month', t.date) AS DATE);
@@ -0,0 +1,16 @@
+-- Однократная миграция: удаляет служебные категории «Все доходы» и «Все расходы».
+-- Раньше каждая транзакция сохранялась повторно в одну из этих категорий;
+-- теперь итоги по типу вычисляются виртуальными категориями CategoryService.
+DELETE FROM transactions
+WHERE category_id IN (SELECT id FROM categories
+                      WHERE (name = 'Все доходы' AND type = 'INCOME')
+                         OR (name = 'Все расходы' AND type = 'EXPENSE'));
+
+DELETE FROM category_monthly_totals
+WHERE category_id IN (SELECT id FROM categories
+                      WHERE (name = 'Все доходы' AND type = 'INCOME')
+                         OR (name = 'Все расходы' AND type = 'EXPENSE'));
+
+DELETE FROM categories
+WHERE (name = 'Все доходы' AND type = 'INCOME')
+   OR (name = 'Все расходы' AND type = 'EXPENSE');
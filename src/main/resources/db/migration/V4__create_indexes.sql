@@ -0,0 +1,15 @@
+-- Индексы для запросов репозиториев.
+-- Создаются CONCURRENTLY, чтобы не блокировать запись в уже заполненные таблицы,
+-- поэтому миграция выполняется вне транзакции (см. V4__create_indexes.sql.conf).
+
+-- findByCategory_Id, отчеты по категории за период и постраничный список по категории.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_category_date
+    ON transactions (category_id, date, id);
+
+-- findByTypeAndUser, findByNameAndUser и findByUser.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_categories_user_type_name
+    ON categories (user_id, type, name);
+
+-- findByDateBetween.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_date
+    ON transactions (date);
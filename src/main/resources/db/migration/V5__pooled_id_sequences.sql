@@ -0,0 +1,8 @@
+-- Идентификаторы категорий и транзакций выделяются Hibernate блоками по 50 значений
+-- (оптимизатор pooled), что позволяет группировать вставки в JDBC-пакеты.
+-- Шаг последовательностей должен совпадать с allocationSize в сущностях.
+DO $$
+BEGIN
+    EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', pg_get_serial_sequence('categories', 'id'));
+    EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', pg_get_serial_sequence('transactions', 'id'));
+END $$;
@@ -0,0 +1,227 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.dto.CategoryPeriodTotal;
+import com.example.personal_finances.dto.DailyTotal;
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.TransactionRepository;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.AnalyticsStore;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.MonthlyAggregator;
+import com.example.personal_finances.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка колоночного хранилища {@link AnalyticsStore}.
+ *
+ * Отчеты хранилища сравниваются с агрегирующими запросами к базе данных на тех же данных,
+ * в том числе после записи транзакций, когда хранилище пользователя должно быть перечитано.
+ */
+@SpringBootTest(properties = "finances.analytics.enabled=true")
+class AnalyticsStoreTest {
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AnalyticsStore analyticsStore;
+
+    @Test
+    void monthIndexOfEpochDayMatchesCalendar() {
+        LocalDate from = LocalDate.of(1500, 1, 1);
+        LocalDate to = LocalDate.of(2500, 12, 31);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            assertMonthIndex(date);
+        }
+
+        List<LocalDate> boundaries = List.of(
+                LocalDate.of(1969, 12, 31), LocalDate.of(1970, 1, 1),
+                LocalDate.of(1600, 2, 29), LocalDate.of(1600, 3, 1),
+                LocalDate.of(1700, 2, 28), LocalDate.of(1700, 3, 1),
+                LocalDate.of(1900, 2, 28), LocalDate.of(1900, 3, 1),
+                LocalDate.of(2000, 2, 29), LocalDate.of(2000, 3, 1),
+                LocalDate.of(2100, 2, 28), LocalDate.of(2100, 3, 1),
+                LocalDate.of(1, 1, 1), LocalDate.of(0, 2, 29), LocalDate.of(0, 3, 1),
+                LocalDate.of(-1, 12, 31), LocalDate.of(-400, 2, 29), LocalDate.of(-401, 3, 1),
+                LocalDate.of(9999, 12, 31));
+        for (LocalDate date : boundaries) {
+            assertMonthIndex(date);
+        }
+    }
+
+    @Test
+    void virtualCategoriesIncludeOnlyCategoriesOfTheirType() {
+        User user = newUser();
+        User other = newUser();
+        Category food = category("Продукты", "EXPENSE", user);
+        Category rent = category("Аренда", "EXPENSE", user);
+        Category salary = category("Зарплата", "INCOME", user);
+        Category foreign = category("Чужие расходы", "EXPENSE", other);
+        LocalDate day = LocalDate.of(1968, 2, 29);
+        transactionService.importTransactions(List.of(
+                transaction(food, day, "10.00"),
+                transaction(rent, day.plusMonths(1), "200.00"),
+                transaction(salary, day, "1000.00"),
+                transaction(foreign, day, "5.00")));
+
+        assertEquals(new BigDecimal("210.00"),
+                analyticsStore.getRangeTotal(CategoryService.ALL_EXPENSE_ID, user, null, null));
+        assertEquals(new BigDecimal("1000.00"),
+                analyticsStore.getRangeTotal(CategoryService.ALL_INCOME_ID, user, null, null));
+        assertEquals(new BigDecimal("10.00"), analyticsStore.getRangeTotal(food.getId(), user, null, null));
+        assertEquals(new BigDecimal("0.00"), analyticsStore.getRangeTotal(foreign.getId(), user, null, null),
+                "чужая категория не входит в хранилище пользователя");
+        assertEquals(List.of(new MonthlyTotal(1968, 2, new BigDecimal("10.00")),
+                        new MonthlyTotal(1968, 3, new BigDecimal("200.00"))),
+                analyticsStore.getMonthlyReport(CategoryService.ALL_EXPENSE_ID, user, null, null));
+        assertEquals(List.of(new DailyTotal(day, new BigDecimal("1000.00"))),
+                analyticsStore.getDailyTotals(CategoryService.ALL_INCOME_ID, user, null, null));
+        assertEquals(new BigDecimal("5.00"),
+                analyticsStore.getRangeTotal(CategoryService.ALL_EXPENSE_ID, other, null, null));
+    }
+
+    @Test
+    void reportsMatchDatabaseAfterWrites() {
+        User user = newUser();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            categories.add(category("Категория " + i, i % 3 == 0 ? "INCOME" : "EXPENSE", user));
+        }
+        Random random = new Random(11);
+        LocalDate start = LocalDate.of(1960, 1, 1);
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            transactions.add(transaction(categories.get(random.nextInt(categories.size())),
+                    start.plusDays(random.nextInt(25_000)), BigDecimal.valueOf(random.nextInt(1_000_000), 2).toString()));
+        }
+        transactionService.importTransactions(transactions);
+
+        assertMatchesDatabase(user, categories, random);
+
+        Category moved = categories.get(1);
+        Transaction added = transactionService.save(transaction(moved, LocalDate.of(1999, 12, 31), "123.45"));
+        assertMatchesDatabase(user, categories, random);
+
+        added.setCategory(categories.get(0));
+        added.setDate(LocalDate.of(1964, 2, 29));
+        transactionService.update(added);
+        assertMatchesDatabase(user, categories, random);
+
+        transactionService.deleteById(added.getId());
+        transactionService.deleteById(transactions.get(0).getId());
+        assertMatchesDatabase(user, categories, random);
+    }
+
+    @Test
+    void categoryRenameRefreshesStoredNames() {
+        User user = newUser();
+        Category food = category("Продукты", "EXPENSE", user);
+        LocalDate day = LocalDate.of(2024, 4, 1);
+        transactionService.save(transaction(food, day, "10.00"));
+        assertEquals(List.of(new CategoryPeriodTotal(food.getId(), "Продукты", day, new BigDecimal("10.00"))),
+                analyticsStore.getCategoryDailyTotals("EXPENSE", user, null, null));
+
+        food.setName("Еда");
+        categoryService.update(food);
+
+        assertEquals(List.of(new CategoryPeriodTotal(food.getId(), "Еда", day, new BigDecimal("10.00"))),
+                analyticsStore.getCategoryDailyTotals("EXPENSE", user, null, null));
+    }
+
+    private void assertMatchesDatabase(User user, List<Category> categories, Random random) {
+        for (int i = 0; i < 20; i++) {
+            LocalDate from = random.nextInt(4) == 0 ? null : LocalDate.of(1955 + random.nextInt(80), 1, 1)
+                    .plusDays(random.nextInt(365));
+            LocalDate to = random.nextInt(4) == 0 ? null : LocalDate.of(1955 + random.nextInt(80), 1, 1)
+                    .plusDays(random.nextInt(365));
+            LocalDate dbFrom = from != null ? from : MIN_DATE;
+            LocalDate dbTo = to != null ? to : MAX_DATE;
+            String range = from + ".." + to;
+
+            for (Category category : categories) {
+                Long id = category.getId();
+                assertEquals(normalize(transactionRepository.sumMonthlyByCategoryAndDateBetween(id, user, dbFrom, dbTo)),
+                        analyticsStore.getMonthlyReport(id, user, from, to), category.getName() + " " + range);
+                List<DailyTotal> daily = transactionRepository.sumDailyByCategoryAndDateBetween(id, user, dbFrom, dbTo);
+                assertEquals(daily, analyticsStore.getDailyTotals(id, user, from, to), category.getName() + " " + range);
+                assertEquals(sum(daily), analyticsStore.getRangeTotal(id, user, from, to), category.getName() + " " + range);
+            }
+            for (long virtualId : new long[]{CategoryService.ALL_INCOME_ID, CategoryService.ALL_EXPENSE_ID}) {
+                String type = CategoryService.getVirtualCategoryType(virtualId);
+                assertEquals(normalize(transactionRepository.sumMonthlyByTypeAndDateBetween(type, user, dbFrom, dbTo)),
+                        analyticsStore.getMonthlyReport(virtualId, user, from, to), type + " " + range);
+                List<DailyTotal> daily = transactionRepository.sumDailyByTypeAndDateBetween(type, user, dbFrom, dbTo);
+                assertEquals(daily, analyticsStore.getDailyTotals(virtualId, user, from, to), type + " " + range);
+                assertEquals(sum(daily), analyticsStore.getRangeTotal(virtualId, user, from, to), type + " " + range);
+            }
+        }
+    }
+
+    private static void assertMonthIndex(LocalDate date) {
+        assertEquals(MonthlyAggregator.monthIndex(date.getYear(), date.getMonthValue()),
+                AnalyticsStore.monthIndexOfEpochDay((int) date.toEpochDay()), date.toString());
+    }
+
+    /**
+     * Приводит помесячные суммы из базы данных к виду отчета хранилища.
+     */
+    private static List<MonthlyTotal> normalize(List<MonthlyTotal> totals) {
+        MonthlyAggregator aggregator = new MonthlyAggregator();
+        aggregator.addAll(totals);
+        List<MonthlyTotal> result = aggregator.toList();
+        assertEquals(totals.size(), result.size(), "месяцы без сумм в ответе базы данных");
+        return result;
+    }
+
+    private static BigDecimal sum(List<DailyTotal> totals) {
+        BigDecimal sum = new BigDecimal("0.00");
+        for (DailyTotal total : totals) {
+            sum = sum.add(total.total());
+        }
+        return sum;
+    }
+
+    private Category category(String name, String type, User user) {
+        Category category = new Category(name, type, user);
+        categoryService.save(category);
+        return category;
+    }
+
+    private User newUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        return userRepository.save(new User("analytics" + number, "analytics" + number + "@example.com", "password1"));
+    }
+
+    private static Transaction transaction(Category category, LocalDate date, String amount) {
+        Transaction transaction = new Transaction(category, date, new BigDecimal(amount));
+        transaction.setName("Покупка");
+        return transaction;
+    }
+}
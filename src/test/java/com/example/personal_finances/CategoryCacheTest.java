@@ -0,0 +1,53 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Проверка кэша категорий пользователя: изменение возвращенной категории
+ * не должно попадать в кэш, пока категория не сохранена.
+ */
+@SpringBootTest
+class CategoryCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Test
+    void returnedCategoriesDoNotShareCachedState() {
+        User user = userRepository.save(new User("category-cache", "category-cache@example.com", "password1"));
+        categoryService.save(new Category("Продукты", "EXPENSE", user));
+
+        Category first = categoryService.findByNameAndUser("Продукты", user);
+        Category second = categoryService.findByNameAndUser("Продукты", user);
+        assertNotSame(first, second);
+
+        first.setName("Переименована без сохранения");
+        assertEquals("Продукты", categoryService.findByUser(user).get(0).getName());
+
+        Category failing = categoryService.findByTypeAndUser("EXPENSE", user).get(0);
+        failing.setName(null);
+        assertThrows(RuntimeException.class, () -> categoryService.update(failing));
+        assertEquals(List.of("Продукты"),
+                categoryService.findByUser(user).stream().map(Category::getName).toList());
+
+        Category renamed = categoryService.findReportCategory(first.getId(), user).orElseThrow();
+        renamed.setName("Еда");
+        categoryService.update(renamed);
+        assertEquals("Еда", categoryService.findByUser(user).get(0).getName());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка условных запросов и кэша сформированных отчетов.
+ *
+ * Страницы категорий и статистики отвечают 304, пока данные пользователя не изменились,
+ * а запись категории или транзакции меняет ETag и сбрасывает закэшированные отчеты.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        int number = USER_COUNTER.incrementAndGet();
+        user = userRepository.save(new User("etag" + number, "etag" + number + "@example.com", "password1"));
+        category = new Category("Продукты", "EXPENSE", user);
+        categoryService.save(category);
+        addTransaction("10.00");
+    }
+
+    @Test
+    void categoriesPageAnswersNotModifiedUntilDataChanges() throws Exception {
+        String etag = fetchEtag("/categories");
+
+        mockMvc.perform(get("/categories").header(HttpHeaders.IF_NONE_MATCH, etag).with(user(user)))
+                .andExpect(status().isNotModified());
+
+        categoryService.save(new Category("Транспорт", "EXPENSE", user));
+        String changed = fetchEtag("/categories");
+        assertNotEquals(etag, changed);
+
+        addTransaction("5.00");
+        mockMvc.perform(get("/categories").header(HttpHeaders.IF_NONE_MATCH, changed).with(user(user)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void statisticsPageAnswersNotModified() throws Exception {
+        String etag = fetchEtag("/statistics");
+
+        mockMvc.perform(get("/statistics").header(HttpHeaders.IF_NONE_MATCH, etag).with(user(user)))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void reportFragmentIsCachedUntilDataChanges() throws Exception {
+        generateReport().andExpect(content().string(containsString("10.00")));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        generateReport().andExpect(content().string(containsString("10.00")));
+        assertEquals(0, statistics.getPrepareStatementCount(), "повторный отчет должен браться из кэша");
+
+        addTransaction("5.00");
+        generateReport().andExpect(content().string(containsString("15.00")));
+    }
+
+    private String fetchEtag(String path) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).with(user(user)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag, "ETag " + path);
+        return etag;
+    }
+
+    private ResultActions generateReport() throws Exception {
+        return mockMvc.perform(post("/generateReport")
+                        .param("categoryId", category.getId().toString())
+                        .with(user(user)).with(csrf()))
+                .andExpect(status().isOk());
+    }
+
+    private void addTransaction(String amount) {
+        Transaction transaction = new Transaction(category, LocalDate.of(2024, 3, 1), new BigDecimal(amount));
+        transaction.setName("Покупка");
+        transactionService.save(transaction);
+    }
+}
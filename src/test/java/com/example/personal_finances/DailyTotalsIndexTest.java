@@ -0,0 +1,93 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.dto.DailyTotal;
+import com.example.personal_finances.service.DailyTotalsIndex;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка индекса сумм по дням {@link DailyTotalsIndex}.
+ *
+ * Результаты сравниваются с прямым суммированием по упорядоченному словарю.
+ */
+class DailyTotalsIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @Test
+    void emptyIndexSumsToZero() {
+        DailyTotalsIndex index = DailyTotalsIndex.of(List.of());
+        assertEquals(0, index.sum(null, null));
+        assertEquals(0, index.sum(DAY, DAY));
+    }
+
+    @Test
+    void closedOpenAndOneSidedRanges() {
+        DailyTotalsIndex index = DailyTotalsIndex.of(List.of(
+                new DailyTotal(DAY, new BigDecimal("1.00")),
+                new DailyTotal(DAY.plusDays(1), new BigDecimal("-0.25")),
+                new DailyTotal(DAY.plusDays(30), new BigDecimal("10.00"))));
+
+        assertEquals(1075, index.sum(null, null));
+        assertEquals(75, index.sum(DAY, DAY.plusDays(1)));
+        assertEquals(1000, index.sum(DAY.plusDays(2), null));
+        assertEquals(75, index.sum(null, DAY.plusDays(29)));
+        assertEquals(1075, index.sum(DAY.minusYears(10), DAY.plusYears(10)));
+        assertEquals(0, index.sum(DAY.minusDays(5), DAY.minusDays(1)));
+        assertEquals(0, index.sum(DAY.plusDays(31), null));
+        assertEquals(0, index.sum(DAY.plusDays(1), DAY), "начало диапазона позже конца");
+    }
+
+    @Test
+    void daysBefore1970WithOpenEnd() {
+        LocalDate early = LocalDate.of(1950, 1, 1);
+        DailyTotalsIndex index = DailyTotalsIndex.of(List.of(
+                new DailyTotal(early, new BigDecimal("2.00")),
+                new DailyTotal(LocalDate.of(1969, 12, 31), new BigDecimal("3.00")),
+                new DailyTotal(LocalDate.of(1970, 1, 1), new BigDecimal("5.00"))));
+
+        assertEquals(1000, index.sum(null, null));
+        assertEquals(1000, index.sum(early, null));
+        assertEquals(800, index.sum(early.plusDays(1), null));
+        assertEquals(200, index.sum(null, early));
+        assertEquals(0, index.sum(null, early.minusDays(1)), "день раньше индекса");
+    }
+
+    @Test
+    void randomTotalsMatchDirectSums() {
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate origin = LocalDate.of(1960, 1, 1);
+        Map<LocalDate, Long> expected = new TreeMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDate date = origin.plusDays(random.nextInt(30_000));
+            expected.merge(date, random.nextLong(-10_000, 10_000), Long::sum);
+        }
+        List<DailyTotal> totals = new ArrayList<>();
+        expected.forEach((date, cents) -> totals.add(new DailyTotal(date, BigDecimal.valueOf(cents, 2))));
+        DailyTotalsIndex index = DailyTotalsIndex.of(totals);
+
+        for (Map.Entry<LocalDate, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), index.sum(entry.getKey(), entry.getKey()), entry.getKey().toString());
+        }
+        for (int i = 0; i < 500; i++) {
+            LocalDate from = random.nextInt(10) == 0 ? null : origin.plusDays(random.nextInt(-100, 30_100));
+            LocalDate to = random.nextInt(10) == 0 ? null : origin.plusDays(random.nextInt(-100, 30_100));
+            long direct = 0;
+            for (Map.Entry<LocalDate, Long> entry : expected.entrySet()) {
+                if ((from == null || !entry.getKey().isBefore(from)) && (to == null || !entry.getKey().isAfter(to))) {
+                    direct += entry.getValue();
+                }
+            }
+            assertEquals(direct, index.sum(from, to), from + ".." + to);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.TransactionService;
+import com.example.personal_finances.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Нагрузочный тест веб-интерфейса.
+ *
+ * Приложение запускается на случайном порту со встроенной базой H2 в режиме PostgreSQL,
+ * для каждого клиента создается пользователь с категориями и транзакциями, после чего
+ * клиенты одновременно входят в систему и выполняют сценарий: страница категорий,
+ * добавление транзакции, отчет по категории. Для каждого адреса выводятся пропускная
+ * способность и задержки p50/p95/p99, отчет сохраняется в {@code target/load-report.json}.
+ *
+ * Запускается при {@code mvn verify}; параметры задаются системными свойствами, например
+ * {@code mvn verify -Dload.clients=32 -Dload.transactions=20000 -Dload.rounds=50}.
+ * Тест завершается ошибкой, если хотя бы один ответ имеет неожиданный статус.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoadIT {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 8);
+    private static final int CATEGORIES = Integer.getInteger("load.categories", 5);
+    private static final int TRANSACTIONS = Integer.getInteger("load.transactions", 2000);
+    private static final int SESSIONS = Integer.getInteger("load.sessions", 2);
+    private static final int ROUNDS = Integer.getInteger("load.rounds", 10);
+    private static final Path REPORT = Path.of(System.getProperty("load.report", "target/load-report.json"));
+
+    private static final String PASSWORD = "load-password";
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+    private static final int DAYS = 5 * 365;
+    private static final AtomicInteger RUN_COUNTER = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    /** Пользователи клиентов и идентификаторы их категорий. */
+    private final List<User> users = new ArrayList<>();
+    private final Map<Long, List<Long>> categoryIds = new ConcurrentHashMap<>();
+
+    /** Задержки запросов в наносекундах по адресам. */
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    void seed() {
+        long startedAt = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(42);
+        int run = RUN_COUNTER.incrementAndGet();
+        for (int client = 0; client < CLIENTS; client++) {
+            String username = "load" + run + "-" + client;
+            User user = userService.register(new User(username, username + "@load.local", PASSWORD));
+            List<Category> categories = new ArrayList<>();
+            for (int i = 0; i < CATEGORIES; i++) {
+                Category category = new Category("Категория " + i, i % 2 == 0 ? "INCOME" : "EXPENSE", user);
+                categoryService.save(category);
+                categories.add(category);
+            }
+
+            List<Transaction> transactions = new ArrayList<>(TRANSACTIONS);
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                Transaction transaction = new Transaction(categories.get(random.nextInt(categories.size())),
+                        FIRST_DATE.plusDays(random.nextInt(DAYS)), BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+                transaction.setName("Транзакция " + i);
+                transactions.add(transaction);
+            }
+            transactionService.importTransactions(transactions);
+
+            users.add(user);
+            categoryIds.put(user.getId(), categories.stream().map(Category::getId).collect(Collectors.toList()));
+        }
+        System.out.printf("Нагрузочный тест: %d пользователей по %d транзакций загружены за %d мс%n",
+                CLIENTS, TRANSACTIONS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    @Test
+    void concurrentClients() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> clients = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            User user = users.get(client);
+            SplittableRandom random = new SplittableRandom(client);
+            clients.add(executor.submit(() -> {
+                start.await();
+                runClient(user, random);
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> client : clients) {
+            client.get(10, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        executor.shutdown();
+
+        Map<String, Object> report = report(elapsed);
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), report);
+
+        int totalErrors = errors.values().stream().mapToInt(AtomicInteger::get).sum();
+        assertEquals(0, totalErrors, "неожиданные ответы: " + errors);
+        assertTrue(latencies.keySet().containsAll(List.of(
+                "POST /login", "GET /categories", "POST /transactions/add", "POST /generateReport")));
+    }
+
+    /**
+     * Выполняет сценарий одного клиента: несколько сессий, в каждой вход и заданное число кругов запросов.
+     */
+    private void runClient(User user, SplittableRandom random) throws IOException, InterruptedException {
+        List<Long> categories = categoryIds.get(user.getId());
+        for (int session = 0; session < SESSIONS; session++) {
+            HttpClient client = HttpClient.newBuilder()
+                    .cookieHandler(new CookieManager())
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            send(client, "POST /login", post("/login", Map.of("username", user.getUsername(), "password", PASSWORD)), 302);
+
+            for (int round = 0; round < ROUNDS; round++) {
+                String categoryId = categories.get(random.nextInt(categories.size())).toString();
+                send(client, "GET /categories", HttpRequest.newBuilder(uri("/categories")).GET().build(), 200);
+                send(client, "POST /transactions/add", post("/transactions/add", Map.of(
+                        "categoryId", categoryId,
+                        "name", "Нагрузка " + round,
+                        "date", FIRST_DATE.plusDays(random.nextInt(DAYS)).toString(),
+                        "amount", BigDecimal.valueOf(random.nextInt(100_000), 2).toPlainString())), 302);
+                send(client, "POST /generateReport", post("/generateReport", Map.of(
+                        "categoryId", categoryId,
+                        "granularity", "MONTH")), 200);
+            }
+        }
+    }
+
+    /**
+     * Отправляет запрос, замеряет задержку и проверяет статус ответа.
+     */
+    private void send(HttpClient client, String endpoint, HttpRequest request, int expectedStatus)
+            throws IOException, InterruptedException {
+        long startedAt = System.nanoTime();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        long elapsed = System.nanoTime() - startedAt;
+        latencies.computeIfAbsent(endpoint, key -> Collections.synchronizedList(new ArrayList<>())).add(elapsed);
+        boolean redirectedToLogin = response.headers().firstValue("Location")
+                .filter(location -> location.contains("/login")).isPresent();
+        if (response.statusCode() != expectedStatus || redirectedToLogin) {
+            errors.computeIfAbsent(endpoint, key -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Формирует отчет и выводит таблицу по адресам.
+     */
+    private Map<String, Object> report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%-24s %8s %10s %9s %9s %9s %7s%n", "Адрес", "Запросов", "Запросов/с", "p50, мс", "p95, мс", "p99, мс", "Ошибок");
+        latencies.keySet().stream().sorted().forEach(endpoint -> {
+            long[] sorted = latencies.get(endpoint).stream().mapToLong(Long::longValue).sorted().toArray();
+            int failed = errors.getOrDefault(endpoint, new AtomicInteger()).get();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("requests", sorted.length);
+            stats.put("errors", failed);
+            stats.put("throughputPerSecond", sorted.length / seconds);
+            stats.put("p50Millis", percentileMillis(sorted, 50));
+            stats.put("p95Millis", percentileMillis(sorted, 95));
+            stats.put("p99Millis", percentileMillis(sorted, 99));
+            stats.put("maxMillis", percentileMillis(sorted, 100));
+            endpoints.put(endpoint, stats);
+            System.out.printf("%-24s %8d %10.1f %9.2f %9.2f %9.2f %7d%n", endpoint, sorted.length, sorted.length / seconds,
+                    percentileMillis(sorted, 50), percentileMillis(sorted, 95), percentileMillis(sorted, 99), failed);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", CLIENTS);
+        report.put("categoriesPerUser", CATEGORIES);
+        report.put("transactionsPerUser", TRANSACTIONS);
+        report.put("sessionsPerClient", SESSIONS);
+        report.put("roundsPerSession", ROUNDS);
+        report.put("elapsedSeconds", seconds);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    /**
+     * Возвращает перцентиль по методу ближайшего ранга в миллисекундах.
+     */
+    private static double percentileMillis(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1e6;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpRequest post(String path, Map<String, String> form) {
+        String body = form.entrySet().stream()
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.TransactionService;
+import com.example.personal_finances.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка метрик сервисов и репозиториев.
+ *
+ * Вызовы сервисов и репозиториев должны попадать в таймеры с гистограммами,
+ * которые публикуются в формате Prometheus на порту управления.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+class MetricsTest {
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void prometheusEndpointExposesServiceAndRepositoryHistograms() throws Exception {
+        User user = userService.register(new User("metrics", "metrics@example.com", "password1"));
+        Category category = new Category("Продукты", "EXPENSE", user);
+        categoryService.save(category);
+        Transaction transaction = new Transaction(category, LocalDate.of(2024, 3, 1), new BigDecimal("10.00"));
+        transaction.setName("Покупка");
+        transactionService.save(transaction);
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + managementPort + "/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        String body = response.body();
+        assertTrue(body.contains("finances_service_seconds_bucket{"), "гистограмма сервисов");
+        assertTrue(body.matches("(?s).*finances_service_seconds_count\\{[^}]*class=\"com.example.personal_finances.service.TransactionService\"[^}]*method=\"save\".*"),
+                "таймер TransactionService.save");
+        assertTrue(body.contains("spring_data_repository_invocations_seconds_bucket{"), "гистограмма репозиториев");
+    }
+}
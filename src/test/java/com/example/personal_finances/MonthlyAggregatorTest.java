@@ -0,0 +1,90 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.service.MonthlyAggregator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка накопителя помесячных сумм {@link MonthlyAggregator}.
+ */
+class MonthlyAggregatorTest {
+
+    @Test
+    void monthIndexIsYearTimesTwelvePlusMonthMinusOne() {
+        assertEquals(2024 * 12, MonthlyAggregator.monthIndex(2024, 1));
+        assertEquals(2024 * 12 + 11, MonthlyAggregator.monthIndex(2024, 12));
+        assertEquals(MonthlyAggregator.monthIndex(2024, 12) + 1, MonthlyAggregator.monthIndex(2025, 1));
+        assertEquals(1969 * 12 + 5, MonthlyAggregator.monthIndex(1969, 6));
+    }
+
+    @Test
+    void sameMonthOfDifferentYearsIsNotMerged() {
+        MonthlyAggregator aggregator = new MonthlyAggregator();
+        aggregator.add(LocalDate.of(2024, 1, 15), new BigDecimal("10.00"));
+        aggregator.add(LocalDate.of(2023, 1, 20), new BigDecimal("1.50"));
+        aggregator.add(LocalDate.of(2024, 1, 31), new BigDecimal("2.25"));
+        aggregator.add(LocalDate.of(2025, 1, 1), new BigDecimal("3.00"));
+
+        assertEquals(List.of(
+                new MonthlyTotal(2023, 1, new BigDecimal("1.50")),
+                new MonthlyTotal(2024, 1, new BigDecimal("12.25")),
+                new MonthlyTotal(2025, 1, new BigDecimal("3.00"))), aggregator.toList());
+    }
+
+    @Test
+    void monthsAcrossYearBoundaryAreOrderedAndMergedWithPrecomputedTotals() {
+        MonthlyAggregator aggregator = new MonthlyAggregator();
+        aggregator.add(LocalDate.of(2024, 2, 1), new BigDecimal("5.00"));
+        aggregator.add(LocalDate.of(2023, 12, 31), new BigDecimal("1.00"));
+        aggregator.addAll(List.of(
+                new MonthlyTotal(2023, 12, new BigDecimal("0.10")),
+                new MonthlyTotal(2021, 6, new BigDecimal("7.00")),
+                new MonthlyTotal(2026, 3, new BigDecimal("9.99"))));
+
+        assertEquals(List.of(
+                new MonthlyTotal(2021, 6, new BigDecimal("7.00")),
+                new MonthlyTotal(2023, 12, new BigDecimal("1.10")),
+                new MonthlyTotal(2024, 2, new BigDecimal("5.00")),
+                new MonthlyTotal(2026, 3, new BigDecimal("9.99"))), aggregator.toList());
+    }
+
+    @Test
+    void negativeAndZeroTotalsAreKept() {
+        MonthlyAggregator aggregator = new MonthlyAggregator();
+        aggregator.add(LocalDate.of(2024, 3, 1), new BigDecimal("-12.34"));
+        aggregator.add(LocalDate.of(2024, 3, 2), new BigDecimal("2.34"));
+        aggregator.add(LocalDate.of(2024, 4, 1), new BigDecimal("5.00"));
+        aggregator.add(LocalDate.of(2024, 4, 2), new BigDecimal("-5.00"));
+
+        assertEquals(List.of(
+                new MonthlyTotal(2024, 3, new BigDecimal("-10.00")),
+                new MonthlyTotal(2024, 4, new BigDecimal("0.00"))), aggregator.toList());
+    }
+
+    @Test
+    void monthWithoutTransactionsIsDropped() {
+        MonthlyAggregator aggregator = new MonthlyAggregator();
+        int march = MonthlyAggregator.monthIndex(2024, 3);
+        aggregator.add(march, 1000, 1);
+        aggregator.add(MonthlyAggregator.monthIndex(2024, 5), 250, 1);
+        aggregator.add(march, -1000, -1);
+
+        assertEquals(List.of(new MonthlyTotal(2024, 5, new BigDecimal("2.50"))), aggregator.toList());
+        assertTrue(new MonthlyAggregator().toList().isEmpty());
+    }
+
+    @Test
+    void toCentsRoundsHalfEven() {
+        assertEquals(0L, MonthlyAggregator.toCents(null));
+        assertEquals(-1234L, MonthlyAggregator.toCents(new BigDecimal("-12.34")));
+        assertEquals(12L, MonthlyAggregator.toCents(new BigDecimal("0.125")));
+        assertEquals(500L, MonthlyAggregator.toCents(new BigDecimal("5")));
+    }
+}
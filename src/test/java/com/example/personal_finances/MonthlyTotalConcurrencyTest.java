@@ -0,0 +1,89 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryMonthlyTotalService;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка помесячных итогов при одновременной записи первых транзакций месяца.
+ *
+ * Первая транзакция держит свою транзакцию базы данных открытой после создания итога,
+ * пока вторая создает итог за тот же месяц. Обе записи должны завершиться успешно,
+ * а итог — содержать обе суммы.
+ */
+@SpringBootTest
+class MonthlyTotalConcurrencyTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 10);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryMonthlyTotalService monthlyTotalService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentFirstWritesOfMonthAreBothCounted() throws Exception {
+        User user = userRepository.save(new User("monthly-race", "monthly-race@example.com", "password1"));
+        Category category = new Category("Продукты", "EXPENSE", user);
+        categoryService.save(category);
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        CountDownLatch firstWritten = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> template.executeWithoutResult(status -> {
+            transactionService.save(transaction(category, "10.00"));
+            firstWritten.countDown();
+            sleep(300);
+        }));
+        assertEquals(true, firstWritten.await(10, TimeUnit.SECONDS), "первая запись");
+        CompletableFuture<Void> second = CompletableFuture.runAsync(
+                () -> template.executeWithoutResult(status -> transactionService.save(transaction(category, "2.50"))));
+
+        first.get(10, TimeUnit.SECONDS);
+        second.get(10, TimeUnit.SECONDS);
+        assertEquals(List.of(new MonthlyTotal(2024, 5, new BigDecimal("12.50"))),
+                monthlyTotalService.findMonthlyTotals(category.getId(), user));
+    }
+
+    private static Transaction transaction(Category category, String amount) {
+        Transaction transaction = new Transaction(category, DAY, new BigDecimal(amount));
+        transaction.setName("Покупка");
+        return transaction;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryMonthlyTotalService;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка помесячных итогов при изменении и удалении транзакции, загруженной
+ * в тот же контекст персистентности (как при open-session-in-view).
+ */
+@SpringBootTest
+class MonthlyTotalUpdateTest {
+
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryMonthlyTotalService monthlyTotalService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void updatingManagedTransactionMovesItsTotal() {
+        User user = newUser();
+        Category food = category("Продукты", user);
+        Category rent = category("Аренда", user);
+        Long id = transactionService.save(transaction(food, LocalDate.of(2024, 1, 15), "10.00")).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Transaction managed = transactionService.findById(id).orElseThrow();
+            managed.setAmount(new BigDecimal("7.00"));
+            managed.setDate(LocalDate.of(2024, 2, 1));
+            managed.setCategory(rent);
+            transactionService.update(managed);
+        });
+
+        assertEquals(List.of(), monthlyTotalService.findMonthlyTotals(food.getId(), user));
+        assertEquals(List.of(new MonthlyTotal(2024, 2, new BigDecimal("7.00"))),
+                monthlyTotalService.findMonthlyTotals(rent.getId(), user));
+    }
+
+    @Test
+    void deletingModifiedManagedTransactionSubtractsStoredAmount() {
+        User user = newUser();
+        Category food = category("Продукты", user);
+        transactionService.save(transaction(food, LocalDate.of(2024, 3, 1), "4.00"));
+        Long id = transactionService.save(transaction(food, LocalDate.of(2024, 3, 2), "10.00")).getId();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Transaction managed = transactionService.findById(id).orElseThrow();
+            managed.setAmount(new BigDecimal("1.00"));
+            transactionService.deleteById(id);
+        });
+
+        assertEquals(List.of(new MonthlyTotal(2024, 3, new BigDecimal("4.00"))),
+                monthlyTotalService.findMonthlyTotals(food.getId(), user));
+    }
+
+    private Category category(String name, User user) {
+        Category category = new Category(name, "EXPENSE", user);
+        categoryService.save(category);
+        return category;
+    }
+
+    private User newUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        return userRepository.save(new User("managed" + number, "managed" + number + "@example.com", "password1"));
+    }
+
+    private static Transaction transaction(Category category, LocalDate date, String amount) {
+        Transaction transaction = new Transaction(category, date, new BigDecimal(amount));
+        transaction.setName("Покупка");
+        return transaction;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.RangeTotalService;
+import com.example.personal_finances.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка сумм за диапазон дат по индексам {@link RangeTotalService}
+ * после добавления, изменения и удаления транзакций.
+ */
+@SpringBootTest
+class RangeTotalServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(1965, 6, 1);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RangeTotalService rangeTotalService;
+
+    @Test
+    void committedChangesReachLoadedIndexes() {
+        User user = userRepository.save(new User("range-total", "range-total@example.com", "password1"));
+        Category food = new Category("Продукты", "EXPENSE", user);
+        Category rent = new Category("Аренда", "EXPENSE", user);
+        categoryService.save(food);
+        categoryService.save(rent);
+        Transaction bread = transactionService.save(transaction(food, DAY, "10.00"));
+
+        assertEquals(new BigDecimal("10.00"), rangeTotalService.getRangeTotal(food.getId(), user, DAY, null));
+        assertEquals(new BigDecimal("10.00"),
+                rangeTotalService.getRangeTotal(CategoryService.ALL_EXPENSE_ID, user, null, null));
+
+        transactionService.save(transaction(food, DAY.plusYears(10), "2.50"));
+        assertEquals(new BigDecimal("12.50"), rangeTotalService.getRangeTotal(food.getId(), user, DAY, null));
+        assertEquals(new BigDecimal("2.50"),
+                rangeTotalService.getRangeTotal(food.getId(), user, DAY.plusDays(1), null));
+
+        bread.setCategory(rent);
+        bread.setDate(DAY.minusYears(1));
+        transactionService.update(bread);
+        assertEquals(new BigDecimal("2.50"), rangeTotalService.getRangeTotal(food.getId(), user, null, null));
+        assertEquals(new BigDecimal("10.00"), rangeTotalService.getRangeTotal(rent.getId(), user, null, DAY));
+        assertEquals(new BigDecimal("0.00"), rangeTotalService.getRangeTotal(rent.getId(), user, DAY, null));
+        assertEquals(new BigDecimal("12.50"),
+                rangeTotalService.getRangeTotal(CategoryService.ALL_EXPENSE_ID, user, null, null));
+
+        transactionService.deleteById(bread.getId());
+        assertEquals(new BigDecimal("0.00"), rangeTotalService.getRangeTotal(rent.getId(), user, null, null));
+        assertEquals(new BigDecimal("2.50"),
+                rangeTotalService.getRangeTotal(CategoryService.ALL_EXPENSE_ID, user, null, null));
+    }
+
+    private static Transaction transaction(Category category, LocalDate date, String amount) {
+        Transaction transaction = new Transaction(category, date, new BigDecimal(amount));
+        transaction.setName("Покупка");
+        return transaction;
+    }
+}
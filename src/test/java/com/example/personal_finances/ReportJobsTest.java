@@ -0,0 +1,143 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка фоновых заданий на построение отчетов.
+ *
+ * Задание ставится в очередь запросом POST, его результат запрашивается по адресу
+ * из заголовка Location. Повторный отчет по тем же данным берется из кэша,
+ * а задания других пользователей недоступны.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportJobsTest {
+
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser();
+        category = new Category("Продукты", "EXPENSE", user);
+        categoryService.save(category);
+        addTransaction("10.00");
+    }
+
+    @Test
+    void submittedJobCompletesWithReport() throws Exception {
+        String location = submit(user, category.getId());
+
+        awaitJob(location, user)
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.result.rangeTotal").value(10.00))
+                .andExpect(jsonPath("$.result.totals[0].periodStart").value("2024-03-01"));
+    }
+
+    @Test
+    void repeatedReportIsServedFromCacheUntilDataChanges() throws Exception {
+        String first = submit(user, category.getId());
+        awaitJob(first, user).andExpect(jsonPath("$.status").value("DONE"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        String location = submit(user, category.getId());
+        assertEquals(0, statistics.getPrepareStatementCount(), "повторный отчет должен браться из кэша");
+        assertEquals(first, location, "повторный отчет должен возвращать то же задание");
+        awaitJob(location, user).andExpect(jsonPath("$.result.rangeTotal").value(10.00));
+
+        addTransaction("5.00");
+        awaitJob(submit(user, category.getId()), user).andExpect(jsonPath("$.result.rangeTotal").value(15.00));
+    }
+
+    @Test
+    void jobsOfOtherUsersAreNotVisible() throws Exception {
+        String location = submit(user, category.getId());
+        User other = createUser();
+
+        mockMvc.perform(get(location).with(user(other)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/reports/jobs")
+                        .param("categoryId", category.getId().toString())
+                        .with(user(other)).with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+
+    private String submit(User owner, Long categoryId) throws Exception {
+        MvcResult result = mockMvc.perform(post("/reports/jobs")
+                        .param("categoryId", categoryId.toString())
+                        .with(user(owner)).with(csrf()))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        String location = result.getResponse().getHeader(HttpHeaders.LOCATION);
+        assertNotNull(location, "Location");
+        return location;
+    }
+
+    private ResultActions awaitJob(String location, User owner) throws Exception {
+        MvcResult result = mockMvc.perform(get(location).param("waitSeconds", "10").with(user(owner)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    private User createUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        return userRepository.save(new User("job" + number, "job" + number + "@example.com", "password1"));
+    }
+
+    private void addTransaction(String amount) {
+        Transaction transaction = new Transaction(category, LocalDate.of(2024, 3, 1), new BigDecimal(amount));
+        transaction.setName("Покупка");
+        transactionService.save(transaction);
+    }
+}
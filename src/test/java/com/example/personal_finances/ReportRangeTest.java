@@ -0,0 +1,78 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.dto.PeriodTotal;
+import com.example.personal_finances.dto.ReportGranularity;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.RangeTotalService;
+import com.example.personal_finances.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка того, что диапазон дат, ограниченный с одной стороны, одинаково учитывается
+ * в отчетах с любым шагом группировки и в сумме за диапазон.
+ */
+@SpringBootTest
+class ReportRangeTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RangeTotalService rangeTotalService;
+
+    @Test
+    void oneSidedRangesAgreeAcrossGranularities() {
+        User user = userRepository.save(new User("report-range", "report-range@example.com", "password1"));
+        Category food = new Category("Продукты", "EXPENSE", user);
+        categoryService.save(food);
+        transactionService.importTransactions(List.of(
+                transaction(food, LocalDate.of(2020, 1, 10), "10.00"),
+                transaction(food, LocalDate.of(2020, 2, 15), "20.00"),
+                transaction(food, LocalDate.of(2021, 6, 1), "30.00")));
+
+        for (Long categoryId : List.of(food.getId(), CategoryService.ALL_EXPENSE_ID)) {
+            assertTotal("60.00", categoryId, user, null, null);
+            assertTotal("50.00", categoryId, user, LocalDate.of(2020, 2, 1), null);
+            assertTotal("20.00", categoryId, user, LocalDate.of(2020, 1, 11), LocalDate.of(2020, 12, 31));
+            assertTotal("30.00", categoryId, user, null, LocalDate.of(2020, 12, 31));
+            assertTotal("10.00", categoryId, user, null, LocalDate.of(2020, 2, 14));
+            assertTotal("0.00", categoryId, user, LocalDate.of(2021, 6, 2), null);
+        }
+    }
+
+    private void assertTotal(String expected, Long categoryId, User user, LocalDate startDate, LocalDate endDate) {
+        String range = categoryId + " " + startDate + ".." + endDate;
+        assertEquals(new BigDecimal(expected), rangeTotalService.getRangeTotal(categoryId, user, startDate, endDate), range);
+        for (ReportGranularity granularity : ReportGranularity.values()) {
+            BigDecimal total = new BigDecimal("0.00");
+            for (PeriodTotal period : transactionService.getReport(categoryId, user, startDate, endDate, granularity)) {
+                total = total.add(period.total());
+            }
+            assertEquals(new BigDecimal(expected), total, granularity + " " + range);
+        }
+    }
+
+    private static Transaction transaction(Category category, LocalDate date, String amount) {
+        Transaction transaction = new Transaction(category, date, new BigDecimal(amount));
+        transaction.setName("Покупка");
+        return transaction;
+    }
+}
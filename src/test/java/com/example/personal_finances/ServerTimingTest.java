@@ -0,0 +1,89 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка заголовка Server-Timing и журнала медленных запросов.
+ *
+ * Порог медленного запроса обнулен, поэтому в журнал попадает каждый запрос.
+ */
+@SpringBootTest(properties = "finances.server-timing.slow-request-millis=0")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+class ServerTimingTest {
+
+    private static final Pattern DB_TIMING = Pattern.compile("db;dur=[0-9.]+;desc=\"(\\d+) queries\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void reportResponseCarriesTimingBreakdown(CapturedOutput output) throws Exception {
+        User user = userRepository.save(new User("timing", "timing@example.com", "password1"));
+        Category category = new Category("Продукты", "EXPENSE", user);
+        categoryService.save(category);
+        Transaction transaction = new Transaction(category, LocalDate.of(2024, 3, 1), new BigDecimal("10.00"));
+        transaction.setName("Покупка");
+        transactionService.save(transaction);
+
+        MvcResult result = mockMvc.perform(post("/generateReport")
+                        .param("categoryId", category.getId().toString())
+                        .with(user(user)).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("10.00")))
+                .andExpect(header().string("Server-Timing", containsString("aggregation;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("view;dur=")))
+                .andExpect(header().string("Server-Timing", containsString("total;dur=")))
+                .andReturn();
+
+        String serverTiming = result.getResponse().getHeader("Server-Timing");
+        assertNotNull(serverTiming);
+        Matcher db = DB_TIMING.matcher(serverTiming);
+        assertTrue(db.find(), serverTiming);
+        assertTrue(Integer.parseInt(db.group(1)) > 0, "отчет должен учитывать SQL-запросы: " + serverTiming);
+        assertTrue(output.getOut().contains("slow_request method=POST uri=/generateReport status=200"), "журнал медленных запросов");
+
+        mockMvc.perform(get("/transactions/export").with(user(user)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка количества SQL-запросов на обработку запроса.
+ *
+ * Число запросов не должно зависеть от количества транзакций пользователя:
+ * рост счетчика означает появление проблемы N+1 (например, ленивой загрузки
+ * категории для каждой транзакции). Кэши второго уровня очищаются перед каждым
+ * тестом, поэтому замеряется «холодный» путь.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementCountTest {
+
+    private static final int CATEGORIES = 3;
+    private static final int TRANSACTIONS_PER_CATEGORY = 20;
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private Statistics statistics;
+    private User user;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        int number = USER_COUNTER.incrementAndGet();
+        user = userRepository.save(new User("sql" + number, "sql" + number + "@example.com", "password1"));
+        for (int c = 0; c < CATEGORIES; c++) {
+            category = new Category("Категория " + c, c == 0 ? "INCOME" : "EXPENSE", user);
+            categoryService.save(category);
+            for (int t = 0; t < TRANSACTIONS_PER_CATEGORY; t++) {
+                Transaction transaction = new Transaction(category, LocalDate.of(2024, 1, 1).plusDays(t * 7L), new BigDecimal("10.00"));
+                transaction.setName("Транзакция " + t);
+                transactionService.save(transaction);
+            }
+        }
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void categoriesPage() throws Throwable {
+        long statements = countStatements(() -> mockMvc.perform(get("/categories").with(user(user)))
+                .andExpect(status().isOk()));
+        assertTrue(statements <= 1, "GET /categories: " + statements);
+    }
+
+    @Test
+    void transactionsPage() throws Throwable {
+        long statements = countStatements(() -> mockMvc.perform(get("/transactions").param("size", "50").with(user(user)))
+                .andExpect(status().isOk()));
+        assertTrue(statements <= 1, "GET /transactions: " + statements);
+    }
+
+    @Test
+    void transactionsExport() throws Throwable {
+        long statements = countStatements(() -> mockMvc.perform(get("/transactions/export").with(user(user)))
+                .andExpect(status().isOk()));
+        assertTrue(statements <= 1, "GET /transactions/export: " + statements);
+    }
+
+    @Test
+    void statisticsReport() throws Throwable {
+        long statements = countStatements(() -> mockMvc.perform(post("/generateReport")
+                        .param("categoryId", category.getId().toString())
+                        .with(user(user)).with(csrf()))
+                .andExpect(status().isOk()));
+        // помесячные итоги, суммы за крайние месяцы и загрузка индекса сумм по дням
+        assertTrue(statements <= 3, "POST /generateReport: " + statements);
+    }
+
+    @Test
+    void statisticsBreakdown() throws Throwable {
+        long statements = countStatements(() -> mockMvc.perform(post("/generateBreakdown")
+                        .param("type", "EXPENSE")
+                        .with(user(user)).with(csrf()))
+                .andExpect(status().isOk()));
+        // категории для формы и один сгруппированный запрос по всем категориям
+        assertTrue(statements <= 2, "POST /generateBreakdown: " + statements);
+    }
+
+    @Test
+    void userTransactionsLoadCategoriesInOneQuery() throws Throwable {
+        long statements = countStatements(() -> {
+            List<Transaction> transactions = transactionService.findByCategory_User(user, Sort.by("date"));
+            assertEquals(CATEGORIES * TRANSACTIONS_PER_CATEGORY, transactions.size());
+            assertTrue(transactions.stream().allMatch(t -> Hibernate.isInitialized(t.getCategory())));
+        });
+        assertEquals(1, statements, "findByCategory_User");
+    }
+
+    /**
+     * Выполняет действие и возвращает количество подготовленных за это время SQL-запросов.
+     */
+    private long countStatements(Executable action) throws Throwable {
+        statistics.clear();
+        action.execute();
+        return statistics.getPrepareStatementCount();
+    }
+}
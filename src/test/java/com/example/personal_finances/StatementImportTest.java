@@ -0,0 +1,246 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.dto.ImportResult;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.StatementImportService;
+import com.example.personal_finances.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Проверка разбора банковских выписок CSV и OFX.
+ *
+ * Сохраненные транзакции сравниваются в виде строк «дата|название|сумма|категория».
+ */
+@SpringBootTest
+class StatementImportTest {
+
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private StatementImportService statementImportService;
+
+    private User user;
+    private Category groceries;
+    private Category salary;
+
+    @BeforeEach
+    void createUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        user = userRepository.save(new User("statement" + number, "statement" + number + "@example.com", "password1"));
+        groceries = new Category("Продукты", "EXPENSE", user);
+        salary = new Category("Зарплата", "INCOME", user);
+        categoryService.save(groceries);
+        categoryService.save(salary);
+    }
+
+    @Test
+    void csvDelimiterIsDetectedFromFirstLine() throws IOException {
+        for (String delimiter : List.of(";", "\t", ",")) {
+            String csv = String.join(delimiter, "Дата", "Название", "Сумма", "Категория") + "\n"
+                    + String.join(delimiter, "2024-03-01", "Хлеб", "45.50", "Продукты") + "\n";
+            ImportResult result = importText(csv, null);
+            assertEquals(1, result.imported(), "разделитель " + (int) delimiter.charAt(0));
+            assertEquals(0, result.rejected());
+        }
+        assertEquals(List.of(
+                "2024-03-01|Хлеб|45.50|Продукты",
+                "2024-03-01|Хлеб|45.50|Продукты",
+                "2024-03-01|Хлеб|45.50|Продукты"), stored());
+    }
+
+    @Test
+    void columnsAreMappedByHeaderInAnyOrder() throws IOException {
+        String csv = "Category;Amount;Description;Posting date\n"
+                + "Зарплата;1 000,00;Аванс;15.03.2024\n"
+                + ";12,30;Молоко;16/03/2024\n";
+
+        ImportResult result = importText(csv, groceries);
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(
+                "2024-03-15|Аванс|1000.00|Зарплата",
+                "2024-03-16|Молоко|12.30|Продукты"), stored());
+    }
+
+    @Test
+    void columnsAreMappedByPositionWithoutHeader() throws IOException {
+        String csv = "2024-03-01;Хлеб;45,50;Продукты\n"
+                + "\n"
+                + "2024-03-02;Премия;500;Зарплата\n"
+                + "2024-03-03;Без категории;1\n";
+
+        ImportResult result = importText(csv, null);
+
+        assertEquals(2, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(List.of(
+                "2024-03-01|Хлеб|45.50|Продукты",
+                "2024-03-02|Премия|500.00|Зарплата"), stored());
+    }
+
+    @Test
+    void quotedFieldsKeepDelimitersAndDoubledQuotes() throws IOException {
+        String csv = "date,name,amount\n"
+                + "2024-03-01,\"Кафе \"\"Ромашка\"\", обед\",\"12,50\"\n"
+                + "2024-03-02,  \"  с пробелами  \"  ,7\n";
+
+        ImportResult result = importText(csv, groceries);
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(
+                "2024-03-01|Кафе \"Ромашка\", обед|12.50|Продукты",
+                "2024-03-02|с пробелами|7.00|Продукты"), stored());
+    }
+
+    @Test
+    void byteOrderMarkIsSkipped() throws IOException {
+        ImportResult csv = importText("\uFEFFДата;Название;Сумма\n2024-03-01;Хлеб;45,50\n", groceries);
+        ImportResult ofx = importText("\uFEFFOFXHEADER:100\n<OFX><STMTTRN><DTPOSTED>20240302<TRNAMT>-3.00"
+                + "<NAME>Вода</STMTTRN></OFX>", groceries);
+
+        assertEquals(1, csv.imported());
+        assertEquals(1, ofx.imported());
+        assertEquals(List.of("2024-03-01|Хлеб|45.50|Продукты", "2024-03-02|Вода|3.00|Продукты"), stored());
+    }
+
+    @Test
+    void sgmlAndXmlOfxAreParsed() throws IOException {
+        String sgml = """
+                OFXHEADER:100
+                DATA:OFXSGML
+                VERSION:102
+
+                <OFX>
+                <BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240301120000[+3:MSK]
+                <TRNAMT>-45.50
+                <NAME>Магазин &amp; кафе
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240302
+                <TRNAMT>-1,25
+                <MEMO>Только описание
+                </STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1>
+                </OFX>
+                """;
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <?OFX OFXHEADER="200" VERSION="211"?>
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                  <STMTTRN>
+                    <DTPOSTED>20240303</DTPOSTED>
+                    <TRNAMT>-10.00</TRNAMT>
+                    <NAME>&lt;Аптека&gt;</NAME>
+                    <MEMO>не используется</MEMO>
+                  </STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+
+        assertEquals(2, importText(sgml, groceries).imported());
+        assertEquals(1, importText(xml, groceries).imported());
+        assertEquals(List.of(
+                "2024-03-01|Магазин & кафе|45.50|Продукты",
+                "2024-03-02|Только описание|1.25|Продукты",
+                "2024-03-03|<Аптека>|10.00|Продукты"), stored());
+    }
+
+    @Test
+    void amountSignMustMatchCategoryType() throws IOException {
+        String csv = "Дата;Название;Сумма;Категория\n"
+                + "2024-03-01;Покупка со знаком;-10;Продукты\n"
+                + "2024-03-02;Покупка без знака;20;Продукты\n"
+                + "2024-03-03;Возврат зарплаты;-30;Зарплата\n"
+                + "2024-03-04;Зарплата;40;Зарплата\n";
+        ImportResult csvResult = importText(csv, null);
+        assertEquals(3, csvResult.imported());
+        assertEquals(1, csvResult.rejected(), "отрицательная сумма не может быть доходом");
+
+        String ofx = "<OFX>"
+                + "<STMTTRN><DTPOSTED>20240305<TRNAMT>-5<NAME>Расход</STMTTRN>"
+                + "<STMTTRN><DTPOSTED>20240306<TRNAMT>6<NAME>Приход в расход</STMTTRN>"
+                + "<STMTTRN><DTPOSTED>20240307<TRNAMT>0<NAME>Нулевая</STMTTRN>"
+                + "</OFX>";
+        ImportResult expenses = importText(ofx, groceries);
+        assertEquals(2, expenses.imported());
+        assertEquals(1, expenses.rejected(), "в OFX положительная сумма не может быть расходом");
+
+        ImportResult income = importText(ofx, salary);
+        assertEquals(2, income.imported());
+        assertEquals(1, income.rejected());
+
+        assertEquals(List.of(
+                "2024-03-01|Покупка со знаком|10.00|Продукты",
+                "2024-03-02|Покупка без знака|20.00|Продукты",
+                "2024-03-04|Зарплата|40.00|Зарплата",
+                "2024-03-05|Расход|5.00|Продукты",
+                "2024-03-07|Нулевая|0.00|Продукты",
+                "2024-03-06|Приход в расход|6.00|Зарплата",
+                "2024-03-07|Нулевая|0.00|Зарплата"), stored());
+    }
+
+    @Test
+    void invalidRowsAreRejectedWithoutStoppingImport() throws IOException {
+        String csv = "01.13.2024;Неверная дата в первой строке;1\n"
+                + "2024-03-01;Хлеб;45,50\n"
+                + "2024-03-02;;1\n"
+                + "2024-03-03;Неверная сумма;12abc\n"
+                + "2024-03-04;Три знака;1.234\n"
+                + "2024-03-05;Слишком большая сумма;123456789\n"
+                + "2024-03-06;" + "x".repeat(Transaction.NAME_MAX_LENGTH + 1) + ";1\n"
+                + "2024-03-07;Неизвестная категория;1;Нет такой\n"
+                + "2024-03-08;Наибольшая сумма;99999999.99\n";
+
+        ImportResult result = importText(csv, null);
+        assertEquals(0, result.imported(), "без категории по умолчанию ни одна строка не сохраняется");
+        assertEquals(9, result.rejected());
+
+        result = importText(csv, groceries);
+        assertEquals(3, result.imported());
+        assertEquals(6, result.rejected());
+        assertEquals(List.of(
+                "2024-03-01|Хлеб|45.50|Продукты",
+                "2024-03-07|Неизвестная категория|1.00|Продукты",
+                "2024-03-08|Наибольшая сумма|99999999.99|Продукты"), stored());
+    }
+
+    private ImportResult importText(String text, Category defaultCategory) throws IOException {
+        return statementImportService.importStatement(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), user, defaultCategory);
+    }
+
+    private List<String> stored() {
+        return transactionService.findByCategory_User(user, Sort.by("id")).stream()
+                .map(t -> t.getDate() + "|" + t.getName() + "|" + t.getAmount().toPlainString() + "|"
+                        + (t.getCategory().getId().equals(groceries.getId()) ? "Продукты" : "Зарплата"))
+                .toList();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.dto.ImportResult;
+import com.example.personal_finances.dto.MonthlyTotal;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryMonthlyTotalService;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.MonthlyAggregator;
+import com.example.personal_finances.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверка пакетной загрузки транзакций.
+ *
+ * Количество строк задается свойством {@code import.rows}, например
+ * {@code mvn test -Dtest=TransactionImportTest -Dimport.rows=100000}. Скорость загрузки
+ * на больших объемах замеряет нагрузочный тест {@link LoadIT} при подготовке данных.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TransactionImportTest {
+
+    private static final int ROWS = Integer.getInteger("import.rows", 5_000);
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryMonthlyTotalService monthlyTotalService;
+
+    @Test
+    void importedRowsAndMonthlyTotalsMatchInput() {
+        User user = newUser();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Category category = new Category("Категория " + i, i % 2 == 0 ? "INCOME" : "EXPENSE", user);
+            categoryService.save(category);
+            categories.add(category);
+        }
+
+        Random random = new Random(42);
+        LocalDate start = LocalDate.of(2015, 1, 1);
+        List<Transaction> transactions = new ArrayList<>(ROWS);
+        Map<Long, MonthlyAggregator> expected = new HashMap<>();
+        for (int i = 0; i < ROWS; i++) {
+            Category category = categories.get(random.nextInt(categories.size()));
+            LocalDate date = start.plusDays(random.nextInt(3650));
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            Transaction transaction = new Transaction(category, date, amount);
+            transaction.setName("Транзакция " + i);
+            transactions.add(transaction);
+            expected.computeIfAbsent(category.getId(), id -> new MonthlyAggregator()).add(date, amount);
+        }
+
+        ImportResult result = transactionService.importTransactions(transactions);
+
+        assertEquals(ROWS, result.imported());
+        assertEquals(0, result.rejected());
+        assertEquals(ROWS, transactionService.findByCategory_User(user, Sort.unsorted()).size());
+        for (Category category : categories) {
+            List<MonthlyTotal> totals = monthlyTotalService.findMonthlyTotals(category.getId(), user);
+            assertEquals(expected.get(category.getId()).toList(), totals, "итоги категории " + category.getName());
+        }
+    }
+
+    @Test
+    void bulkEndpointRejectsRowsThatDoNotFitColumns() throws Exception {
+        User user = newUser();
+        Category category = new Category("Продукты", "EXPENSE", user);
+        categoryService.save(category);
+        long id = category.getId();
+        String longName = "x".repeat(Transaction.NAME_MAX_LENGTH + 1);
+
+        String body = "["
+                + row(id, "Хлеб", "2024-03-01", "45.50") + ","
+                + row(id, "Максимальная сумма", "2024-03-02", "99999999.99") + ","
+                + row(id, "Слишком большая сумма", "2024-03-03", "123456789.00") + ","
+                + row(id, "Три знака после точки", "2024-03-04", "1.234") + ","
+                + row(id, "Отрицательная сумма", "2024-03-05", "-1.00") + ","
+                + row(id, longName, "2024-03-06", "1.00") + ","
+                + row(-100, "Чужая категория", "2024-03-07", "1.00")
+                + "]";
+
+        mockMvc.perform(post("/transactions/bulk")
+                        .contentType(MediaType.APPLICATION_JSON).content(body)
+                        .with(user(user)).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(5));
+
+        assertEquals(List.of(new MonthlyTotal(2024, 3, new BigDecimal("100000045.49"))),
+                monthlyTotalService.findMonthlyTotals(id, user));
+    }
+
+    private User newUser() {
+        int number = USER_COUNTER.incrementAndGet();
+        return userRepository.save(new User("import" + number, "import" + number + "@example.com", "password1"));
+    }
+
+    private static String row(long categoryId, String name, String date, String amount) {
+        return "{\"categoryId\":" + categoryId + ",\"name\":\"" + name + "\",\"date\":\"" + date
+                + "\",\"amount\":" + amount + "}";
+    }
+}
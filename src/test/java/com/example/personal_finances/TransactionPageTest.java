@@ -0,0 +1,173 @@
+package com.example.personal_finances;
+
+import com.example.personal_finances.dto.TransactionPage;
+import com.example.personal_finances.dto.TransactionView;
+import com.example.personal_finances.model.Category;
+import com.example.personal_finances.model.Transaction;
+import com.example.personal_finances.model.User;
+import com.example.personal_finances.repository.UserRepository;
+import com.example.personal_finances.service.CategoryService;
+import com.example.personal_finances.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка постраничной навигации по ключу (дата, идентификатор) в списке транзакций.
+ *
+ * Транзакции создаются на небольшом числе дат, поэтому на одну дату приходится
+ * много строк и порядок внутри даты определяется только идентификатором.
+ */
+@SpringBootTest
+class TransactionPageTest {
+
+    private static final int DATES = 5;
+    private static final int TRANSACTIONS_PER_CATEGORY = 230;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    private static final AtomicInteger USER_COUNTER = new AtomicInteger();
+
+    private static final Comparator<TransactionView> PAGE_ORDER = Comparator
+            .comparing(TransactionView::date).thenComparing(TransactionView::id).reversed();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private User user;
+    private Category income;
+    private Category expense;
+
+    @BeforeEach
+    void seed() {
+        int number = USER_COUNTER.incrementAndGet();
+        user = userRepository.save(new User("paging" + number, "paging" + number + "@example.com", "password1"));
+        income = new Category("Зарплата", "INCOME", user);
+        expense = new Category("Продукты", "EXPENSE", user);
+        categoryService.save(income);
+        categoryService.save(expense);
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < TRANSACTIONS_PER_CATEGORY; i++) {
+            transactions.add(transaction(income, FIRST_DATE.plusDays(i % DATES), i));
+            transactions.add(transaction(expense, FIRST_DATE.plusDays((i * 3) % DATES), i));
+        }
+        transactionService.importTransactions(transactions);
+    }
+
+    @Test
+    void pagesCoverAllTransactionsWithoutDuplicatesOrGaps() {
+        List<TransactionView> all = readAll(null, null, null, 7);
+
+        assertEquals(2 * TRANSACTIONS_PER_CATEGORY, all.size());
+        assertEquals(all.size(), new HashSet<>(all.stream().map(TransactionView::id).toList()).size());
+        List<TransactionView> sorted = new ArrayList<>(all);
+        sorted.sort(PAGE_ORDER);
+        assertEquals(sorted, all, "порядок по убыванию даты, внутри даты по убыванию идентификатора");
+    }
+
+    @Test
+    void equalDatesAreSplitAcrossPagesById() {
+        TransactionPage first = transactionService.findPage(user, income.getId(), null, null, null, null, 10);
+        LocalDate lastDate = FIRST_DATE.plusDays(DATES - 1);
+        assertTrue(first.items().stream().allMatch(item -> item.date().equals(lastDate)));
+        assertEquals(lastDate, first.nextBeforeDate());
+
+        TransactionPage second = transactionService.findPage(
+                user, income.getId(), null, null, first.nextBeforeDate(), first.nextBeforeId(), 10);
+        assertEquals(lastDate, second.items().get(0).date());
+        assertTrue(second.items().get(0).id() < first.nextBeforeId());
+        Set<Long> firstIds = new HashSet<>(first.items().stream().map(TransactionView::id).toList());
+        assertTrue(second.items().stream().noneMatch(item -> firstIds.contains(item.id())));
+    }
+
+    @Test
+    void lastPageIsDetectedByProbeRow() {
+        LocalDate day = FIRST_DATE.plusDays(1);
+        int onDay = readAll(income.getId(), day, day, 50).size();
+
+        TransactionPage exact = transactionService.findPage(user, income.getId(), day, day, null, null, onDay);
+        assertEquals(onDay, exact.items().size());
+        assertNull(exact.nextBeforeDate(), "страница ровно по размеру остатка последняя");
+        assertNull(exact.nextBeforeId());
+
+        TransactionPage shorter = transactionService.findPage(user, income.getId(), day, day, null, null, onDay - 1);
+        assertEquals(onDay - 1, shorter.items().size());
+        assertNotNull(shorter.nextBeforeDate());
+        TransactionPage rest = transactionService.findPage(
+                user, income.getId(), day, day, shorter.nextBeforeDate(), shorter.nextBeforeId(), onDay - 1);
+        assertEquals(1, rest.items().size());
+        assertNull(rest.nextBeforeDate());
+    }
+
+    @Test
+    void pageSizeIsCapped() {
+        TransactionPage page = transactionService.findPage(user, null, null, null, null, null, 10_000);
+        assertEquals(TransactionService.MAX_PAGE_SIZE, page.items().size());
+        assertNotNull(page.nextBeforeId());
+
+        TransactionPage minimal = transactionService.findPage(user, null, null, null, null, null, 0);
+        assertEquals(1, minimal.items().size());
+    }
+
+    @Test
+    void virtualCategoryAndDateRangeRestrictPages() {
+        LocalDate from = FIRST_DATE.plusDays(1);
+        LocalDate to = FIRST_DATE.plusDays(3);
+        List<TransactionView> expenses = readAll(CategoryService.ALL_EXPENSE_ID, from, to, 9);
+
+        assertTrue(expenses.stream().allMatch(item -> item.categoryId().equals(expense.getId())));
+        assertTrue(expenses.stream().allMatch(item -> !item.date().isBefore(from) && !item.date().isAfter(to)));
+        long expected = 0;
+        for (int i = 0; i < TRANSACTIONS_PER_CATEGORY; i++) {
+            int offset = (i * 3) % DATES;
+            if (offset >= 1 && offset <= 3) {
+                expected++;
+            }
+        }
+        assertEquals(expected, expenses.size());
+    }
+
+    /**
+     * Читает все страницы, переходя по ключу последней транзакции.
+     */
+    private List<TransactionView> readAll(Long categoryId, LocalDate startDate, LocalDate endDate, int size) {
+        List<TransactionView> result = new ArrayList<>();
+        LocalDate beforeDate = null;
+        Long beforeId = null;
+        do {
+            TransactionPage page = transactionService.findPage(
+                    user, categoryId, startDate, endDate, beforeDate, beforeId, size);
+            assertTrue(page.items().size() <= size);
+            result.addAll(page.items());
+            beforeDate = page.nextBeforeDate();
+            beforeId = page.nextBeforeId();
+        } while (beforeDate != null);
+        return result;
+    }
+
+    private static Transaction transaction(Category category, LocalDate date, int number) {
+        Transaction transaction = new Transaction(category, date, BigDecimal.valueOf(number + 1, 2));
+        transaction.setName("Транзакция " + number);
+        return transaction;
+    }
+}